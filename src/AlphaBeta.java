@@ -1,15 +1,26 @@
 import models.AlphaBetaAlgorithm;
 import models.BasicEstimator;
 import models.Board;
+import models.DistributedSearch;
+import models.GameSession;
+import models.MappedTranspositionTable;
+import models.MultiPvResult;
+import models.OpeningBook;
 import models.Player;
 import models.ProblemType;
 import models.Result;
+import models.SearchTrace;
 import models.StaticEstimator;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import static models.Utils.convertArgsToMap;
+import static models.Utils.formatLine;
 import static models.Utils.getInputStringFromFile;
 import static models.Utils.output;
 import static models.Utils.validateInputString;
@@ -54,6 +65,19 @@ public class AlphaBeta {
      *                 <li>"inputDir" - Source board file (e.g., "input.txt")</li>
      *                 <li>"outputDir" - Destination file for new board state</li>
      *                 <li>"depth" - Search depth (e.g., "2")</li>
+     *                 <li>"stats" - Optional flag; prints per-ply search statistics</li>
+     *                 <li>"pv" - Optional flag; also prints the principal variation</li>
+     *                 <li>"aspiration" - Optional initial aspiration window half-width</li>
+     *                 <li>"lmr", "lmr-reduction" - Optional late move reduction start index and plies</li>
+     *                 <li>"futility" - Optional futility pruning margin</li>
+     *                 <li>"quiescence" - Optional maximum capture plies searched beyond the depth</li>
+     *                 <li>"repetition" - Optional flag; scores positions repeating the search path as draws</li>
+     *                 <li>"book" - Optional opening book file consulted before searching</li>
+     *                 <li>"tt", "tt-bits" - Optional transposition table file kept across runs, and its size</li>
+     *                 <li>"multipv" - Optional number of root moves to rank with their estimates, or "all"</li>
+     *                 <li>"workers", "connections", "split-depth" - Optional worker addresses (host:port, comma
+     *                 separated) searching the subtrees, jobs run at once per worker, and split depth (1 or 2)</li>
+     *                 <li>"trace" - Optional file receiving every node of the local search (see SearchTraceViewer)</li>
      *               </ul>
      */
     private static void computeAlphaBeta(Map<String, String> params) throws IOException {
@@ -64,16 +88,122 @@ public class AlphaBeta {
         // Initialize Alpha-Beta search
         StaticEstimator staticEstimator = new BasicEstimator();
         AlphaBetaAlgorithm alphaBetaAlgorithm = new AlphaBetaAlgorithm(staticEstimator);
+        alphaBetaAlgorithm.setCollectStats(params.containsKey("stats"));  // Optional --stats flag
+        if (params.containsKey("aspiration")) {
+            // Optional --aspiration=<half-width> flag: iterative deepening with aspiration windows
+            alphaBetaAlgorithm.setAspirationWindow(intFlag(params, "aspiration", "<half-width>"));
+        }
+        if (params.containsKey("lmr")) {
+            // Optional --lmr=<from-move> and --lmr-reduction=<plies> flags: late move reductions
+            alphaBetaAlgorithm.setLateMoveReduction(intFlag(params, "lmr", "<from-move>"),
+                    params.containsKey("lmr-reduction") ? intFlag(params, "lmr-reduction", "<plies>") : 1);
+        }
+        if (params.containsKey("futility")) {
+            // Optional --futility=<margin> flag: frontier futility pruning
+            alphaBetaAlgorithm.setFutilityMargin(intFlag(params, "futility", "<margin>"));
+        }
+        if (params.containsKey("quiescence")) {
+            // Optional --quiescence=<plies> flag: capture-only search at the depth limit
+            alphaBetaAlgorithm.setQuiescence(intFlag(params, "quiescence", "<plies>"));
+        }
+        alphaBetaAlgorithm.setRepetitionDetection(params.containsKey("repetition"));  // Optional --repetition flag
+        if (params.containsKey("book")) {
+            // Optional --book=<file> flag: answer book positions without searching
+            alphaBetaAlgorithm.setOpeningBook(OpeningBook.load(Paths.get(params.get("book"))));
+        }
+
+        MappedTranspositionTable table = null;
+        if (params.containsKey("tt")) {
+            // Optional --tt=<file> and --tt-bits=<bits> flags: off-heap table persisted across runs
+            table = new MappedTranspositionTable(Paths.get(params.get("tt")),
+                    Integer.parseInt(params.getOrDefault("tt-bits", String.valueOf(GameSession.DEFAULT_TABLE_BITS))),
+                    staticEstimator, alphaBetaAlgorithm.optionsIdentity());
+            alphaBetaAlgorithm.setTranspositionTable(table);
+        }
+
+        SearchTrace trace = null;
+        if (params.containsKey("trace")) {
+            // Optional --trace=<file> flag: record every searched node
+            trace = new SearchTrace(Paths.get(params.get("trace")), staticEstimator);
+            alphaBetaAlgorithm.setTrace(trace);
+        }
 
         // Compute best move for White (same player as MiniMax)
         Board board = new Board(inputString);
-        Result result = alphaBetaAlgorithm.computeBestMove(
-                board,
-                Integer.parseInt(params.get("depth")),
-                Player.WHITE  // Same as MiniMax but with pruning
-        );
+        Result result;
+        MultiPvResult multiPv = null;
+        try {
+            if (params.containsKey("multipv") && !board.isTerminal()) {
+                // Optional --multipv=<lines|all> flag: rank the best root moves in one search
+                String lines = params.get("multipv");
+                multiPv = alphaBetaAlgorithm.computeMultiPv(board, Integer.parseInt(params.get("depth")), Player.WHITE,
+                        lines.equals("all") ? 0 : Integer.parseInt(lines));
+                Result best = multiPv.getBest();
+                result = new Result(best.getEstimate(), best.getBestBoard(), multiPv.getPositionsEvaluated(),
+                        multiPv.getStats(), best.getPrincipalVariation());
+            } else if (params.containsKey("workers")) {
+                // Optional --workers=<host:port,...> flag: split the search across DistributedWorker processes
+                result = distributedSearch(staticEstimator, params, true).computeBestMove(
+                        board, Integer.parseInt(params.get("depth")), Player.WHITE);
+            } else {
+                result = alphaBetaAlgorithm.computeBestMove(
+                        board,
+                        Integer.parseInt(params.get("depth")),
+                        Player.WHITE  // Same as MiniMax but with pruning
+                );
+            }
+        } finally {
+            if (table != null) table.close();
+            if (trace != null) trace.close();
+        }
+        if (trace != null) {
+            System.out.println("Search trace: " + trace.getNodes() + " nodes written to " + params.get("trace"));
+        }
 
         // Write output with ALPHA_BETA problem type
-        output(result, params.get("outputDir"), ProblemType.ALPHA_BETA);
+        output(result, params.get("outputDir"), ProblemType.ALPHA_BETA, params.containsKey("pv"));  // Optional --pv flag
+        if (multiPv != null) {
+            for (int i = 0; i < multiPv.getLines().size(); i++) {
+                Result line = multiPv.getLines().get(i);
+                System.out.println("Line " + (i + 1) + ": " + line.getBestBoard() + " estimate " + line.getEstimate()
+                        + (params.containsKey("pv") ? " pv " + formatLine(line.getPrincipalVariation()) : ""));
+            }
+        }
+    }
+
+    /**
+     * @param params      Command line parameters
+     * @param name        Flag that takes an integer value
+     * @param placeholder Value shown in the error message, e.g. "&lt;plies&gt;"
+     * @return Value of the flag
+     * @throws IllegalArgumentException If the flag was given without a value (parsed as "true") or with a
+     *                                  value that is not an integer
+     */
+    private static int intFlag(Map<String, String> params, String name, String placeholder) {
+        String value = params.get(name);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            String given = value.equals("true") ? "--" + name : "--" + name + "=" + value;
+            throw new IllegalArgumentException("Invalid option '" + given + "' - Expected --" + name + "=" + placeholder);
+        }
+    }
+
+    /**
+     * @param estimator Estimator the workers were started with
+     * @param params    Command line parameters with "workers" and optionally "connections" and "split-depth"
+     * @param alphaBeta True to split an Alpha-Beta search, false for MiniMax
+     * @return Distributed search over the listed workers
+     */
+    static DistributedSearch distributedSearch(StaticEstimator estimator, Map<String, String> params, boolean alphaBeta) {
+        List<InetSocketAddress> workers = new ArrayList<>();
+        for (String address : params.get("workers").split(",")) {
+            workers.add(DistributedSearch.parseAddress(address.trim()));
+        }
+        DistributedSearch search = new DistributedSearch(estimator, workers);
+        search.setAlphaBeta(alphaBeta);
+        search.setConnectionsPerWorker(Integer.parseInt(params.getOrDefault("connections", "1")));
+        search.setSplitDepth(Integer.parseInt(params.getOrDefault("split-depth", "2")));
+        return search;
     }
 }
\ No newline at end of file
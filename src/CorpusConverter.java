@@ -0,0 +1,106 @@
+import models.BoardParser;
+import models.CorpusWriter;
+import models.PackedBoard;
+import models.Player;
+
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Converts text board files into the binary position corpus format.
+ * <p>
+ * The input holds one 16-character board per line, optionally followed by the side to move
+ * ({@code W} or {@code B}) after spaces or tabs. Blank lines and lines starting with {@code #} are skipped.
+ * The side-to-move flag is stored when the first board line carries a side token, in which case every line must.
+ * Invalid lines are reported on stderr with their line and column and skipped.
+ * Usage: java -cp [output_folder] CorpusConverter [input_file] [corpus_file]
+ * </p>
+ * <p>
+ * Example: java -cp bin/ CorpusConverter boards.txt boards.jmpc
+ * </p>
+ */
+public class CorpusConverter {
+    /**
+     * Main entry point for the corpus converter.
+     *
+     * @param args Two arguments: text input path and binary output path.
+     *             Example: {"boards.txt", "boards.jmpc"}
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Invalid argument count - "
+                    + "Required format: [input_file] [corpus_file]");
+        }
+        try {
+            long count = convert(args[0], args[1]);
+            System.out.println("Positions written: " + count);
+        } catch (IOException e) {
+            throw new RuntimeException("Error while converting corpus", e);
+        }
+    }
+
+    /**
+     * Reads every board line, validates it and appends the packed position to the corpus.
+     *
+     * @param inputFile  Text file with one board per line
+     * @param corpusFile Destination corpus file
+     * @return Number of positions written
+     * @throws IOException If reading or writing fails
+     */
+    private static long convert(String inputFile, String corpusFile) throws IOException {
+        try (LineNumberReader reader = new LineNumberReader(
+                Files.newBufferedReader(Paths.get(inputFile), StandardCharsets.UTF_8))) {
+            String line = nextBoardLine(reader);
+            boolean sideToMove = line != null && line.trim().split("\\s+").length > 1;
+            BoardParser parser = new BoardParser();
+            long rejected = 0;
+
+            try (CorpusWriter writer = new CorpusWriter(Paths.get(corpusFile), sideToMove)) {
+                for (; line != null; line = nextBoardLine(reader)) {
+                    int lineNumber = reader.getLineNumber();  // Physical line, counting skipped ones
+                    int indent = 0;
+                    while (line.charAt(indent) <= ' ') indent++;  // What trim() removes, so columns match the file
+                    String[] tokens = line.trim().split("\\s+", 2);
+                    Player side = sideToMove ? parseSide(tokens.length < 2 ? "" : tokens[1].trim()) : Player.WHITE;
+
+                    if (!parser.parse(tokens[0])) {
+                        rejected++;
+                        System.err.println("Skipping line " + lineNumber + ", column "
+                                + (indent + parser.getErrorPosition() + 1) + ": " + parser.getErrorMessage());
+                    } else if (side == null) {
+                        rejected++;
+                        System.err.println("Skipping line " + lineNumber + ": Side must be W or B");
+                    } else {
+                        writer.add(PackedBoard.withSideToMove(parser.getPacked(), side));
+                    }
+                }
+                if (rejected > 0) System.err.println("Lines rejected: " + rejected);
+                return writer.getCount();
+            }
+        }
+    }
+
+    /**
+     * @return Next non-blank, non-comment line as read (untrimmed), or null at end of input
+     */
+    private static String nextBoardLine(LineNumberReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) return line;
+        }
+        return null;
+    }
+
+    /**
+     * @return Player for a W/B token, or null if the token is invalid
+     */
+    private static Player parseSide(String token) {
+        if (token.equals("W")) return Player.WHITE;
+        if (token.equals("B")) return Player.BLACK;
+        return null;
+    }
+}
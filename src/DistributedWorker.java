@@ -0,0 +1,67 @@
+import models.BasicEstimator;
+import models.ImprovedEstimator;
+import models.ParameterizedEstimator;
+import models.SearchWorker;
+import models.StaticEstimator;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import static models.Utils.parseFlags;
+
+/**
+ * Runs a worker process for distributed searches ({@code --workers} of {@code AlphaBeta} and {@code MiniMax}).
+ * <p>
+ * Usage: java -cp [output_folder] DistributedWorker [port] [--bind=address] [--estimator=basic|improved|weights=file]
+ * </p>
+ * <p>
+ * Example: java -cp bin/ DistributedWorker 7070 --bind=0.0.0.0
+ * </p>
+ * <p>
+ * The worker listens on loopback unless {@code --bind} is given, and serves until killed. Coordinators must
+ * search with the same estimator (basic by default).
+ * </p>
+ */
+public class DistributedWorker {
+    /**
+     * Main entry point for a search worker.
+     *
+     * @param args Port and optional flags.
+     *             Example: {"7070", "--estimator=improved"}
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Invalid argument count - "
+                    + "Required format: [port] [--bind=address] [--estimator=basic|improved|weights=file]");
+        }
+        Map<String, String> flags = parseFlags(args, 1);
+        try {
+            StaticEstimator estimator = estimator(flags.getOrDefault("estimator", "basic"));
+            SearchWorker worker = new SearchWorker(estimator,
+                    new InetSocketAddress(flags.getOrDefault("bind", "127.0.0.1"), Integer.parseInt(args[0])));
+            System.out.println("Search worker listening on port " + worker.getPort());
+            worker.run();
+        } catch (IOException e) {
+            throw new RuntimeException("Error while running search worker", e);
+        }
+    }
+
+    /**
+     * @param name basic, improved or weights=&lt;file&gt;
+     * @return Estimator of that name
+     * @throws IOException If a weights file cannot be read
+     */
+    private static StaticEstimator estimator(String name) throws IOException {
+        if (name.startsWith("weights=")) return ParameterizedEstimator.load(Paths.get(name.substring("weights=".length())));
+        switch (name) {
+            case "basic":
+                return new BasicEstimator();
+            case "improved":
+                return new ImprovedEstimator();
+            default:
+                throw new IllegalArgumentException("Invalid estimator: " + name + ". Valid values: basic, improved, weights=<file>");
+        }
+    }
+}
@@ -0,0 +1,444 @@
+import models.AlphaBetaAlgorithm;
+import models.BasicEstimator;
+import models.Board;
+import models.CorpusReader;
+import models.CorpusWriter;
+import models.DistributedSearch;
+import models.ImprovedEstimator;
+import models.MiniMaxAlgorithm;
+import models.MultiEstimatorSearch;
+import models.PackedBoard;
+import models.ParameterizedEstimator;
+import models.Player;
+import models.Result;
+import models.StaticEstimator;
+import models.WideAlphaBeta;
+import models.WideBoard;
+import models.WideResult;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static models.Utils.parseFlags;
+import static models.Utils.validateInputString;
+
+/**
+ * Differential test of a search engine against a reference: searches a reproducible corpus of positions
+ * with both, for both players and several depths, and reports every case where they disagree, shrunk to a
+ * minimal board.
+ * <p>
+ * Usage: java -cp [output_folder] EquivalenceHarness [positions] [candidate] [--reference=minimax|alphabeta]
+ * [--depths=1,2,3,4] [--estimator=basic|improved|weights=file] [--checks=board,estimate,evaluated,move]
+ * [--seed=S] [--plies=P] [--start=BOARD] [--corpus=FILE] [--dump=FILE] [--threads=N] [--shrink=K]
+ * [--workers=host:port,...]
+ * </p>
+ * <p>
+ * Example: java -cp bin/ EquivalenceHarness 10000 multi --depths=1,2,3,4,5
+ * </p>
+ * <p>
+ * Candidates are {@code minimax}, {@code alphabeta}, {@code multi} ({@link MultiEstimatorSearch}),
+ * {@code wide} ({@link WideAlphaBeta}, basic estimator only), and {@code distributed-minimax} and
+ * {@code distributed-alphabeta} over {@code --workers}. The reference is {@link MiniMaxAlgorithm} unless
+ * {@code --reference=alphabeta}. A candidate of the reference's own family must match it exactly: best
+ * board, estimate and positions evaluated. Otherwise pruning changes the positions evaluated and the choice
+ * among equal moves, so the estimate is compared and the best move checked instead of the board
+ * ({@code move}): searched by the reference one ply shallower, it must be worth the reference estimate.
+ * {@code --checks} overrides the comparison.
+ * </p>
+ * <p>
+ * Position i of the corpus is the start position ({@code --start}) after a number of random moves below
+ * {@code --plies} drawn from seed + i, so a corpus depends only on its seed, never on the thread count.
+ * With {@code --corpus}, the positions of a binary corpus are searched instead, and {@code --dump} writes
+ * the generated positions as one. A failing case is shrunk by lowering its depth and removing pieces while
+ * the engines still disagree. The process exits with status 1 if any case fails.
+ * </p>
+ */
+public class EquivalenceHarness {
+    private static final String START_POSITION = "WwwwxxxxxxxxbbbB";
+    private static final int WARM_UP_POSITIONS = 50;
+
+    /**
+     * Result fields compared between the engines
+     */
+    private enum Check {
+        BOARD, ESTIMATE, EVALUATED, MOVE
+    }
+
+    /**
+     * Main entry point for the equivalence harness.
+     *
+     * @param args Number of positions, the candidate engine and optional flags.
+     *             Example: {"10000", "alphabeta", "--reference=alphabeta"}
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Invalid argument count - Required format: [positions] [candidate] "
+                    + "[--reference=minimax|alphabeta] [--depths=1,2,3,4] [--estimator=basic|improved|weights=file] "
+                    + "[--checks=board,estimate,evaluated,move] [--seed=S] [--plies=P] [--start=BOARD] [--corpus=FILE] "
+                    + "[--dump=FILE] [--threads=N] [--shrink=K] [--workers=host:port,...]");
+        }
+        Map<String, String> flags = parseFlags(args, 2);
+        boolean equivalent;
+        try {
+            equivalent = run(Integer.parseInt(args[0]), args[1], flags);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error while comparing engines", e.getCause());
+        } catch (IOException e) {
+            throw new RuntimeException("Error while reading or writing the corpus", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (!equivalent) System.exit(1);
+    }
+
+    /**
+     * Searches every case on a fixed thread pool, then prints the summary and the shrunk failures
+     *
+     * @return True if every case matched
+     */
+    private static boolean run(int positions, String candidateName, Map<String, String> flags)
+            throws ExecutionException, InterruptedException, IOException {
+        StaticEstimator estimator = estimator(flags.getOrDefault("estimator", "basic"));
+        String referenceName = flags.getOrDefault("reference", "minimax");
+        if (!referenceName.equals("minimax") && !referenceName.equals("alphabeta")) {
+            throw new IllegalArgumentException("Invalid reference: " + referenceName + ". Valid values: minimax, alphabeta");
+        }
+        Engine reference = Engine.create(referenceName, estimator, flags);
+        Engine candidate = Engine.create(candidateName, estimator, flags);
+        EnumSet<Check> checks = flags.containsKey("checks") ? parseChecks(flags.get("checks"))
+                : sameFamily(referenceName, candidateName) ? EnumSet.of(Check.BOARD, Check.ESTIMATE, Check.EVALUATED)
+                : EnumSet.of(Check.ESTIMATE, Check.MOVE);
+        int[] depths = Arrays.stream(flags.getOrDefault("depths", "1,2,3,4").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        int threads = Integer.parseInt(flags.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int shrink = Integer.parseInt(flags.getOrDefault("shrink", "3"));
+
+        long[] corpus = corpus(positions, flags);
+        System.out.println("Reference: " + referenceName + ", candidate: " + candidateName + ", estimator: "
+                + estimator.getClass().getSimpleName() + ", checks: " + checks.toString().toLowerCase(Locale.ROOT));
+        System.out.println("Cases: " + corpus.length + " positions x 2 players x depths " + Arrays.toString(depths));
+
+        // Untimed warm-up, so interpreted first searches are not charged to whichever engine runs first
+        for (int i = 0; i < Math.min(WARM_UP_POSITIONS, corpus.length); i++) {
+            for (int depth : depths) {
+                for (Player player : Player.values()) {
+                    compare(reference, candidate, checks, PackedBoard.toBoard(corpus[i]), depth, player, false, null, null);
+                }
+            }
+        }
+
+        LongAdder referenceNanos = new LongAdder();
+        LongAdder candidateNanos = new LongAdder();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<List<Mismatch>>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < corpus.length; i++) {
+                Board board = PackedBoard.toBoard(corpus[i]);
+                int parity = i % 2;
+                futures.add(pool.submit(() -> {
+                    List<Mismatch> found = new ArrayList<>();
+                    int searches = parity;
+                    for (int depth : depths) {
+                        for (Player player : Player.values()) {
+                            // Alternate which engine searches first: the second finds the position in cache
+                            boolean candidateFirst = searches++ % 2 == 1;
+                            Mismatch mismatch = compare(reference, candidate, checks, board, depth, player,
+                                    candidateFirst, referenceNanos, candidateNanos);
+                            if (mismatch != null) found.add(mismatch);
+                        }
+                    }
+                    return found;
+                }));
+            }
+            List<Mismatch> mismatches = new ArrayList<>();
+            for (Future<List<Mismatch>> future : futures) {
+                mismatches.addAll(future.get());
+            }
+
+            System.out.printf("Searches: %d, reference %.1f ms, candidate %.1f ms (%.2fx)%n",
+                    (long) corpus.length * 2 * depths.length, referenceNanos.sum() / 1e6, candidateNanos.sum() / 1e6,
+                    (double) referenceNanos.sum() / Math.max(candidateNanos.sum(), 1));
+            if (mismatches.isEmpty()) {
+                System.out.println("EQUIVALENT");
+                return true;
+            }
+            System.out.println("MISMATCHES: " + mismatches.size());
+            for (int i = 0; i < Math.min(shrink, mismatches.size()); i++) {
+                Mismatch mismatch = mismatches.get(i);
+                System.out.println("Mismatch " + (i + 1) + ": " + mismatch);
+                System.out.println("  minimal: " + shrink(reference, candidate, checks, mismatch));
+            }
+            return false;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * @return Positions from the corpus file, or generated from the seed (and dumped if requested)
+     */
+    private static long[] corpus(int positions, Map<String, String> flags) throws IOException {
+        if (flags.containsKey("corpus")) {
+            try (CorpusReader reader = new CorpusReader(Paths.get(flags.get("corpus")))) {
+                long[] corpus = new long[(int) Math.min(positions, reader.size())];
+                for (int i = 0; i < corpus.length; i++) {
+                    corpus[i] = reader.get(i);
+                }
+                return corpus;
+            }
+        }
+
+        long seed = Long.parseLong(flags.getOrDefault("seed", "1"));
+        int plies = Integer.parseInt(flags.getOrDefault("plies", "30"));
+        String start = flags.getOrDefault("start", START_POSITION);
+        validateInputString(start);
+        long[] corpus = new long[positions];
+        for (int i = 0; i < positions; i++) {
+            Random random = new Random(seed + i);
+            Board board = new Board(start);
+            Player player = Player.WHITE;
+            for (int ply = random.nextInt(plies + 1); ply > 0 && !board.isTerminal(); ply--) {
+                List<Board> moves = player == Player.WHITE ? board.generateWhiteMoves() : board.generateBlackMoves();
+                if (moves.isEmpty()) break;
+                board = moves.get(random.nextInt(moves.size()));
+                player = player.opposite();
+            }
+            corpus[i] = PackedBoard.pack(board, player);
+        }
+        if (flags.containsKey("dump")) {
+            try (CorpusWriter writer = new CorpusWriter(Paths.get(flags.get("dump")), true)) {
+                for (long packed : corpus) {
+                    writer.add(packed);
+                }
+            }
+        }
+        return corpus;
+    }
+
+    /**
+     * Searches one case with both engines
+     *
+     * @return The disagreement, or null if the compared fields match
+     */
+    private static Mismatch compare(Engine reference, Engine candidate, EnumSet<Check> checks, Board board,
+                                    int depth, Player player, boolean candidateFirst,
+                                    LongAdder referenceNanos, LongAdder candidateNanos) {
+        Result expected = null;
+        Result actual = null;
+        String error = null;
+        for (int turn = 0; turn < 2; turn++) {
+            boolean isCandidate = (turn == 0) == candidateFirst;
+            long start = System.nanoTime();
+            try {
+                Result result = (isCandidate ? candidate : reference).search(board, depth, player);
+                if (isCandidate) actual = result;
+                else expected = result;
+            } catch (RuntimeException e) {
+                if (!isCandidate) throw e;
+                error = e.toString();
+            }
+            LongAdder nanos = isCandidate ? candidateNanos : referenceNanos;
+            if (nanos != null) nanos.add(System.nanoTime() - start);
+        }
+
+        if (actual != null) {
+            boolean same = (!checks.contains(Check.BOARD)
+                    || String.valueOf(expected.getBestBoard()).equals(String.valueOf(actual.getBestBoard())))
+                    && (!checks.contains(Check.ESTIMATE) || expected.getEstimate() == actual.getEstimate())
+                    && (!checks.contains(Check.EVALUATED)
+                    || expected.getPositionsEvaluated() == actual.getPositionsEvaluated())
+                    && (!checks.contains(Check.MOVE) || moveValue(reference, board, depth, player, actual) == expected.getEstimate());
+            if (same) return null;
+        }
+        return new Mismatch(board, depth, player, expected, actual, error);
+    }
+
+    /**
+     * @return The reference's estimate of the candidate's best move searched one ply shallower, or the candidate's
+     * estimate when the root has no move
+     */
+    private static int moveValue(Engine reference, Board board, int depth, Player player, Result actual) {
+        Board move = actual.getBestBoard();
+        if (move == null || move.toString().equals(board.toString())) return actual.getEstimate();
+        return reference.search(move, depth - 1, player.opposite()).getEstimate();
+    }
+
+    /**
+     * Greedily lowers the depth and removes pieces while the engines still disagree
+     *
+     * @return The smallest failing case found
+     */
+    private static Mismatch shrink(Engine reference, Engine candidate, EnumSet<Check> checks, Mismatch mismatch) {
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            for (int depth = 1; depth < mismatch.depth && !progress; depth++) {
+                Mismatch smaller = compare(reference, candidate, checks, mismatch.board, depth, mismatch.player,
+                        false, null, null);
+                if (smaller != null) {
+                    mismatch = smaller;
+                    progress = true;
+                }
+            }
+            char[] squares = mismatch.board.toString().toCharArray();
+            for (int square = 0; square < squares.length && !progress; square++) {
+                if (squares[square] == 'x') continue;
+                char piece = squares[square];
+                squares[square] = 'x';
+                Mismatch smaller = compare(reference, candidate, checks, new Board(new String(squares)),
+                        mismatch.depth, mismatch.player, false, null, null);
+                squares[square] = piece;
+                if (smaller != null) {
+                    mismatch = smaller;
+                    progress = true;
+                }
+            }
+        }
+        return mismatch;
+    }
+
+    private static EnumSet<Check> parseChecks(String names) {
+        EnumSet<Check> checks = EnumSet.noneOf(Check.class);
+        for (String name : names.split(",")) {
+            try {
+                checks.add(Check.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid check: " + name + ". Valid values: board, estimate, evaluated, move");
+            }
+        }
+        return checks;
+    }
+
+    /**
+     * @return True if the candidate searches the same tree as the reference, so every field must match
+     */
+    private static boolean sameFamily(String reference, String candidate) {
+        if (reference.equals("minimax")) {
+            return candidate.equals("minimax") || candidate.equals("multi") || candidate.equals("distributed-minimax");
+        }
+        return candidate.equals("alphabeta") || candidate.equals("wide");
+    }
+
+    /**
+     * @param name basic, improved or weights=&lt;file&gt;
+     * @return Estimator of that name
+     * @throws IOException If a weights file cannot be read
+     */
+    private static StaticEstimator estimator(String name) throws IOException {
+        if (name.startsWith("weights=")) return ParameterizedEstimator.load(Paths.get(name.substring("weights=".length())));
+        switch (name) {
+            case "basic":
+                return new BasicEstimator();
+            case "improved":
+                return new ImprovedEstimator();
+            default:
+                throw new IllegalArgumentException("Invalid estimator: " + name + ". Valid values: basic, improved, weights=<file>");
+        }
+    }
+
+    /**
+     * Engine under comparison; shared by every thread of the pool
+     */
+    private interface Engine {
+        Result search(Board board, int depth, Player player);
+
+        /**
+         * @param name      Engine name (see the class description)
+         * @param estimator Estimator of the searches
+         * @param flags     Options, for the distributed engines' workers
+         * @return Engine of that name searching with the estimator
+         * @throws IllegalArgumentException For unknown engines and unsupported estimators
+         */
+        static Engine create(String name, StaticEstimator estimator, Map<String, String> flags) {
+            switch (name) {
+                case "minimax":
+                    return new MiniMaxAlgorithm(estimator)::computeBestMove;
+                case "alphabeta":
+                    return new AlphaBetaAlgorithm(estimator)::computeBestMove;
+                case "multi": {
+                    // A second estimator makes the shared kernel carry more than one value per node
+                    StaticEstimator other = estimator instanceof BasicEstimator
+                            ? new ImprovedEstimator() : new BasicEstimator();
+                    MultiEstimatorSearch search = new MultiEstimatorSearch(List.of(estimator, other));
+                    return (board, depth, player) -> search.computeBestMoves(board, depth, player).get(0);
+                }
+                case "wide": {
+                    if (!(estimator instanceof BasicEstimator)) {
+                        throw new IllegalArgumentException("The wide engine only searches with the basic estimator");
+                    }
+                    WideAlphaBeta search = new WideAlphaBeta();
+                    return (board, depth, player) -> {
+                        WideResult result = search.computeBestMove(WideBoard.of(board), depth, player);
+                        return new Result(result.getEstimate(),
+                                result.getBestBoard() == null ? null : result.getBestBoard().toBoard(),
+                                result.getPositionsEvaluated());
+                    };
+                }
+                case "distributed-minimax":
+                case "distributed-alphabeta": {
+                    if (!flags.containsKey("workers")) {
+                        throw new IllegalArgumentException("The " + name + " engine requires --workers=host:port,...");
+                    }
+                    List<InetSocketAddress> workers = new ArrayList<>();
+                    for (String address : flags.get("workers").split(",")) {
+                        workers.add(DistributedSearch.parseAddress(address.trim()));
+                    }
+                    DistributedSearch search = new DistributedSearch(estimator, workers);
+                    search.setAlphaBeta(name.equals("distributed-alphabeta"));
+                    return search::computeBestMove;
+                }
+                default:
+                    throw new IllegalArgumentException("Invalid engine: " + name + ". Valid values: minimax, alphabeta, "
+                            + "multi, wide, distributed-minimax, distributed-alphabeta");
+            }
+        }
+    }
+
+    /**
+     * Case on which the engines disagree, with both results
+     */
+    private static final class Mismatch {
+        private final Board board;
+        private final int depth;
+        private final Player player;
+        private final Result expected;
+        private final Result actual;
+        private final String error;
+
+        Mismatch(Board board, int depth, Player player, Result expected, Result actual, String error) {
+            this.board = board;
+            this.depth = depth;
+            this.player = player;
+            this.expected = expected;
+            this.actual = actual;
+            this.error = error;
+        }
+
+        @Override
+        public String toString() {
+            return board + " " + player + " depth " + depth + ": reference " + describe(expected)
+                    + ", candidate " + (actual == null ? "failed with " + error : describe(actual));
+        }
+
+        private static String describe(Result result) {
+            return result.getBestBoard() + " estimate " + result.getEstimate()
+                    + " evaluated " + result.getPositionsEvaluated();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+import models.Board;
+import models.CorpusReader;
+import models.PackedBoard;
+import models.ParameterizedEstimator;
+import models.StaticEstimator;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static models.Utils.parseFlags;
+
+/**
+ * Tunes the weights of {@link ParameterizedEstimator} on a corpus of positions labelled with game results.
+ * <p>
+ * The fit minimises the Texel loss: the mean squared difference between each game result (1 White win,
+ * 0.5 draw, 0 Black win) and {@code 1 / (1 + e^(-K * estimate))}. K is first fitted to the starting weights,
+ * then weights are improved by local search: each weight is moved by a step while the loss decreases, and
+ * the step is halved after a pass without improvement, down to 1. Every loss evaluation runs the estimator
+ * through the {@link StaticEstimator} interface over the whole corpus on all threads. Terminal and
+ * unlabelled positions are skipped.
+ * Usage: java -cp [output_folder] EstimatorTuner [corpus_file] [weights_file] [--start=WEIGHTS] [--step=S]
+ * [--passes=N] [--threads=N] [--limit=N]
+ * </p>
+ * <p>
+ * Example: java -cp bin/ Tournament 2000 alphabeta:improved:6 alphabeta:basic:6 --dump=games.jmpc
+ * <br>
+ * java -cp bin/ EstimatorTuner games.jmpc tuned.txt
+ * <br>
+ * java -cp bin/ MiniMaxImproved input.txt output.txt 4 --weights=tuned.txt
+ * </p>
+ */
+public class EstimatorTuner {
+    private static final double MIN_K = 1e-4;
+    private static final double MAX_K = 1.0;
+    private static final int K_ITERATIONS = 40;
+
+    private final Board[] boards;
+    private final double[] labels;
+    private final ForkJoinPool pool;
+
+    private EstimatorTuner(Board[] boards, double[] labels, ForkJoinPool pool) {
+        this.boards = boards;
+        this.labels = labels;
+        this.pool = pool;
+    }
+
+    /**
+     * Main entry point for the estimator tuner.
+     *
+     * @param args Corpus path, output weights path and optional flags.
+     *             Example: {"games.jmpc", "tuned.txt", "--passes=20"}
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Invalid argument count - Required format: [corpus_file] "
+                    + "[weights_file] [--start=WEIGHTS] [--step=S] [--passes=N] [--threads=N] [--limit=N]");
+        }
+        Map<String, String> flags = parseFlags(args, 2);
+        int threads = Integer.parseInt(flags.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            EstimatorTuner tuner = load(args[0], Long.parseLong(flags.getOrDefault("limit",
+                    String.valueOf(Long.MAX_VALUE))), pool);
+            ParameterizedEstimator start = flags.containsKey("start")
+                    ? ParameterizedEstimator.load(Paths.get(flags.get("start")))
+                    : new ParameterizedEstimator();
+            tuner.tune(start, Integer.parseInt(flags.getOrDefault("step", "8")),
+                    Integer.parseInt(flags.getOrDefault("passes", "100")), args[1]);
+        } catch (IOException e) {
+            throw new RuntimeException("Error while tuning estimator", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error while tuning estimator", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Decodes the labelled, non-terminal positions of a corpus
+     *
+     * @param corpusFile Corpus written with results (e.g. by {@code Tournament --dump})
+     * @param limit      Maximum number of positions to keep
+     * @param pool       Pool running every loss evaluation
+     * @return Tuner over the decoded positions
+     * @throws IOException If the corpus cannot be read or carries no results
+     */
+    private static EstimatorTuner load(String corpusFile, long limit, ForkJoinPool pool) throws IOException {
+        try (CorpusReader reader = new CorpusReader(Paths.get(corpusFile))) {
+            if (!reader.hasResults()) {
+                throw new IOException("Corpus has no result labels: " + corpusFile);
+            }
+            int capacity = (int) Math.min(Math.min(reader.size(), limit), Integer.MAX_VALUE - 8);
+            long[] packed = new long[capacity];
+            int[] count = new int[1];
+            reader.forEach(position -> {
+                if (count[0] < capacity && PackedBoard.result(position) != PackedBoard.RESULT_NONE) {
+                    packed[count[0]++] = position;
+                }
+            });
+
+            Board[] boards = new Board[count[0]];
+            double[] labels = new double[count[0]];
+            int kept = 0;
+            for (int i = 0; i < count[0]; i++) {
+                Board board = PackedBoard.toBoard(packed[i]);
+                if (board.isTerminal()) continue;
+                boards[kept] = board;
+                labels[kept] = (PackedBoard.result(packed[i]) - 1) / 2.0;  // 0, 0.5 or 1
+                kept++;
+            }
+            System.out.println("Positions: " + kept + " labelled and non-terminal of " + reader.size());
+            return new EstimatorTuner(Arrays.copyOf(boards, kept), Arrays.copyOf(labels, kept), pool);
+        }
+    }
+
+    /**
+     * Fits K, runs the local search and writes the best weights found
+     */
+    private void tune(ParameterizedEstimator start, int step, int passes, String weightsFile)
+            throws IOException, ExecutionException, InterruptedException {
+        if (boards.length == 0) {
+            throw new IllegalArgumentException("No labelled non-terminal positions to tune on");
+        }
+        long startNanos = System.nanoTime();
+        double k = fitK(start);
+        int[] weights = start.getWeights();
+        double startLoss = loss(start, k);
+        double best = startLoss;
+        System.out.printf("K: %.6f, start loss: %.6f, weights: %s%n", k, startLoss, Arrays.toString(weights));
+
+        long evaluations = 0;
+        for (int pass = 1; pass <= passes && step > 0; pass++) {
+            boolean improved = false;
+            for (int i = 0; i < weights.length; i++) {
+                for (int direction = 1; direction >= -1; direction -= 2) {
+                    // Keep moving this weight while the loss decreases
+                    while (true) {
+                        int[] candidate = weights.clone();
+                        candidate[i] += direction * step;
+                        double loss = loss(new ParameterizedEstimator(candidate), k);
+                        evaluations++;
+                        if (loss >= best) break;
+                        best = loss;
+                        weights = candidate;
+                        improved = true;
+                    }
+                }
+            }
+            System.out.printf("Pass %d (step %d): loss %.6f, weights: %s%n", pass, step, best, Arrays.toString(weights));
+            if (!improved) step /= 2;
+        }
+
+        ParameterizedEstimator tuned = new ParameterizedEstimator(weights);
+        tuned.save(Paths.get(weightsFile), String.format("Tuned on %d positions, K=%.6f, loss %.6f -> %.6f",
+                boards.length, k, startLoss, best));
+        System.out.printf("Loss evaluations: %d on %d threads in %.1f s%n",
+                evaluations, pool.getParallelism(), (System.nanoTime() - startNanos) / 1e9);
+        System.out.println("Weights written: " + weightsFile);
+    }
+
+    /**
+     * Finds the scaling constant minimising the loss of an estimator by golden-section search over log K
+     */
+    private double fitK(StaticEstimator estimator) throws ExecutionException, InterruptedException {
+        double ratio = (Math.sqrt(5) - 1) / 2;
+        double lo = Math.log(MIN_K), hi = Math.log(MAX_K);
+        double x1 = hi - ratio * (hi - lo), x2 = lo + ratio * (hi - lo);
+        double f1 = loss(estimator, Math.exp(x1)), f2 = loss(estimator, Math.exp(x2));
+        for (int i = 0; i < K_ITERATIONS; i++) {
+            if (f1 < f2) {
+                hi = x2;
+                x2 = x1;
+                f2 = f1;
+                x1 = hi - ratio * (hi - lo);
+                f1 = loss(estimator, Math.exp(x1));
+            } else {
+                lo = x1;
+                x1 = x2;
+                f1 = f2;
+                x2 = lo + ratio * (hi - lo);
+                f2 = loss(estimator, Math.exp(x2));
+            }
+        }
+        return Math.exp((lo + hi) / 2);
+    }
+
+    /**
+     * @return Mean squared error between results and the estimator's predicted White score
+     */
+    private double loss(StaticEstimator estimator, double k) throws ExecutionException, InterruptedException {
+        double sum = pool.submit(() -> IntStream.range(0, boards.length).parallel().mapToDouble(i -> {
+            double predicted = 1 / (1 + Math.exp(-k * estimator.estimate(boards[i])));
+            double error = labels[i] - predicted;
+            return error * error;
+        }).sum()).get();
+        return sum / boards.length;
+    }
+}
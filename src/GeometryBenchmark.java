@@ -0,0 +1,78 @@
+import models.AlphaBetaAlgorithm;
+import models.BasicEstimator;
+import models.Board;
+import models.BoardGeometry;
+import models.Player;
+import models.Result;
+import models.WideAlphaBeta;
+import models.WideBoard;
+import models.WideResult;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static models.Utils.parseFlags;
+
+/**
+ * Measures how search cost scales with board length: searches the start position of boards of several
+ * sizes with {@link WideAlphaBeta} at a fixed depth and reports nodes and time per node.
+ * <p>
+ * Usage: java -cp [output_folder] GeometryBenchmark [depth] [--squares=16,32,64,...] [--pawns=3] [--repeat=5]
+ * </p>
+ * <p>
+ * Example: java -cp bin/ GeometryBenchmark 12 --squares=16,64,256,1024
+ * </p>
+ * <p>
+ * Each size is searched once to warm up, then {@code --repeat} times, and the fastest run is reported. The
+ * standard {@link Board} search of the 16-square start position is timed the same way as a reference.
+ * </p>
+ */
+public class GeometryBenchmark {
+    /**
+     * Main entry point for the geometry benchmark.
+     *
+     * @param args Search depth and optional flags.
+     *             Example: {"12", "--squares=16,64,256"}
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Invalid argument count - "
+                    + "Required format: [depth] [--squares=16,32,64,...] [--pawns=3] [--repeat=5]");
+        }
+        Map<String, String> flags = parseFlags(args, 1);
+        int depth = Integer.parseInt(args[0]);
+        int[] sizes = Arrays.stream(flags.getOrDefault("squares", "16,24,32,64,128,256,1024").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        int pawns = Integer.parseInt(flags.getOrDefault("pawns", "3"));
+        int repeat = Integer.parseInt(flags.getOrDefault("repeat", "5"));
+
+        Board standard = new Board(BoardGeometry.STANDARD.startPosition());
+        AlphaBetaAlgorithm reference = new AlphaBetaAlgorithm(new BasicEstimator());
+        long referenceNanos = Long.MAX_VALUE;
+        Result referenceResult = null;
+        for (int run = 0; run <= repeat; run++) {
+            long start = System.nanoTime();
+            referenceResult = reference.computeBestMove(standard, depth, Player.WHITE);
+            if (run > 0) referenceNanos = Math.min(referenceNanos, System.nanoTime() - start);
+        }
+        System.out.printf("Board (16 squares, 3 pawns): %d positions evaluated, %.1f ms%n",
+                referenceResult.getPositionsEvaluated(), referenceNanos / 1e6);
+
+        System.out.println("squares  words  nodes        evaluated    ms         ns/node");
+        WideAlphaBeta search = new WideAlphaBeta();
+        for (int squares : sizes) {
+            BoardGeometry geometry = new BoardGeometry(squares, pawns);
+            WideBoard board = WideBoard.start(geometry);
+            long nanos = Long.MAX_VALUE;
+            WideResult result = null;
+            for (int run = 0; run <= repeat; run++) {
+                long start = System.nanoTime();
+                result = search.computeBestMove(board, depth, Player.WHITE);
+                if (run > 0) nanos = Math.min(nanos, System.nanoTime() - start);
+            }
+            System.out.printf("%-8d %-6d %-12d %-12d %-10.1f %.1f%n", squares, geometry.words(), result.getNodes(),
+                    result.getPositionsEvaluated(), nanos / 1e6, (double) nanos / result.getNodes());
+        }
+    }
+}
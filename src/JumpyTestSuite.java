@@ -1,18 +1,37 @@
+import models.AlphaBetaAlgorithm;
+import models.BasicEstimator;
+import models.Board;
+import models.DistributedSearch;
+import models.MiniMaxAlgorithm;
+import models.Player;
 import models.ProblemType;
+import models.Result;
+import models.SearchAlgorithm;
+import models.SearchWorker;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Comprehensive test suite for Jumpy3 AI implementations.
@@ -22,6 +41,8 @@ import java.util.Map;
  *   <li>Automated input/output board comparisons</li>
  *   <li>Position evaluation count verification</li>
  *   <li>Static estimate value validation</li>
+ *   <li>Distributed searches on two in-process loopback workers, including a connection killed mid-job,
+ *       compared against local searches</li>
  * </ul>
  *
  * <p>Test workflow:</p>
@@ -36,15 +57,30 @@ public class JumpyTestSuite {
     /**
      * Predefined test cases with input boards and expected results per algorithm
      */
-    static final List<TestCase> TEST_CASES = Collections.singletonList(
+    static final List<TestCase> TEST_CASES = Arrays.asList(
             new TestCase("WwwwxxxxxxxxbbbB", 2, new HashMap<ProblemType, ExpectedResult>() {{
                 put(ProblemType.MIN_MAX, new ExpectedResult("xwwwWxxxxxxxbbbB", 16, 0));
                 put(ProblemType.MIN_MAX_BLACK, new ExpectedResult("WwwwxxxxxxxBbbbx", 16, 0));
                 put(ProblemType.MIN_MAX_IMPROVED, new ExpectedResult("xwwwWxxxxxxxbbbB", 16, 12));
                 put(ProblemType.ALPHA_BETA, new ExpectedResult("xwwwWxxxxxxxbbbB", 7, 0));
+            }}),
+            // Futility pruning must not skip the king exit, which is generated last and captures nothing
+            new TestCase("wBxxxxxxxxxxxxxW", 1, new String[]{"--futility=1"}, new HashMap<ProblemType, ExpectedResult>() {{
+                put(ProblemType.ALPHA_BETA, new ExpectedResult("wBxxxxxxxxxxxxxx", 3, 100));
             }})
     );
 
+    /**
+     * Boards searched on loopback workers and locally
+     */
+    static final List<String> LOOPBACK_BOARDS = Arrays.asList(
+            "WwwwxxxxxxxxbbbB", "xwwxxxwBxbxxbbWx", "xxwxxxWwBxwxbbbx");
+
+    /**
+     * Search depth of the loopback checks
+     */
+    static final int LOOPBACK_DEPTH = 6;
+
     /**
      * Executes test suite and prints validation results
      *
@@ -55,6 +91,7 @@ public class JumpyTestSuite {
         int total = 0;
         int passed = 0;
         Map<ProblemType, Integer> typeCounts = new EnumMap<>(ProblemType.class);
+        Map<ProblemType, Integer> typeTotals = new EnumMap<>(ProblemType.class);
 
         // Execute all test cases for all problem types
         for (TestCase testCase : TEST_CASES) {
@@ -62,6 +99,7 @@ public class JumpyTestSuite {
                 total++;
                 ProblemType type = entry.getKey();
                 ExpectedResult expected = entry.getValue();
+                typeTotals.put(type, typeTotals.getOrDefault(type, 0) + 1);
 
                 File inputFile = null;
                 try {
@@ -77,7 +115,7 @@ public class JumpyTestSuite {
                     System.setOut(new PrintStream(bos));
 
                     // Execute test
-                    runProgram(type, inputFile.getAbsolutePath(), testCase.depth);
+                    runProgram(type, inputFile.getAbsolutePath(), testCase.depth, testCase.flags);
                     System.setOut(originalOut);
 
                     // Validate results
@@ -97,16 +135,23 @@ public class JumpyTestSuite {
             }
         }
 
+        // Distributed searches against local ones
+        int[] loopback = runLoopbackChecks();
+        total += loopback[1];
+        passed += loopback[0];
+
         // Print test summary
         System.out.println("\nTest Results Summary:");
         System.out.printf("Total tests: %d\nPassed: %d\nFailed: %d\n", total, passed, total - passed);
         System.out.println("\nBreakdown by problem type:");
         for (ProblemType type : ProblemType.values()) {
+            if (type == ProblemType.MCTS) continue;  // Randomised search, not covered by reference outputs
             System.out.printf("%-25s: %3d/%d\n",
                     type,
                     typeCounts.getOrDefault(type, 0),
-                    TEST_CASES.size());
+                    typeTotals.getOrDefault(type, 0));
         }
+        System.out.printf("%-25s: %3d/%d\n", "DISTRIBUTED_LOOPBACK", loopback[0], loopback[1]);
 
         if (passed < total) System.exit(1);
     }
@@ -117,10 +162,16 @@ public class JumpyTestSuite {
      * @param problemType Algorithm variant to test
      * @param inputPath   Path to input board file
      * @param depth       Search depth for algorithm
+     * @param flags       Options passed after the depth
      * @throws Exception If reflection invocation fails
      */
-    private static void runProgram(ProblemType problemType, String inputPath, int depth) throws Exception {
-        String[] params = {inputPath, "dummy_output.txt", String.valueOf(depth)};
+    private static void runProgram(ProblemType problemType, String inputPath, int depth, String[] flags)
+            throws Exception {
+        String[] params = new String[3 + flags.length];
+        params[0] = inputPath;
+        params[1] = "dummy_output.txt";
+        params[2] = String.valueOf(depth);
+        System.arraycopy(flags, 0, params, 3, flags.length);
         Class<?> cls;
         switch (problemType) {
             case MIN_MAX:
@@ -142,6 +193,94 @@ public class JumpyTestSuite {
         mainMethod.invoke(null, (Object) params);
     }
 
+    /**
+     * Searches every loopback board with MiniMax and Alpha-Beta on two in-process workers, then again with a
+     * third worker whose connections drop every job they receive
+     *
+     * @return Passed and total check counts
+     */
+    private static int[] runLoopbackChecks() {
+        int passed = 0;
+        int total = 0;
+        List<Closeable> servers = new ArrayList<>();
+        try {
+            List<InetSocketAddress> workers = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                SearchWorker worker = new SearchWorker(new BasicEstimator(), new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+                servers.add(worker);
+                worker.start();
+                workers.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), worker.getPort()));
+            }
+            DroppingWorker dropping = new DroppingWorker();
+            servers.add(dropping);
+            List<InetSocketAddress> withDropping = new ArrayList<>(workers);
+            withDropping.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), dropping.getPort()));
+
+            for (List<InetSocketAddress> addresses : Arrays.asList(workers, withDropping)) {
+                for (boolean alphaBeta : new boolean[]{false, true}) {
+                    for (String input : LOOPBACK_BOARDS) {
+                        total++;
+                        int dropped = dropping.dropped.get();
+                        try {
+                            boolean ok = checkLoopback(addresses, alphaBeta, input);
+                            if (addresses == withDropping && dropping.dropped.get() == dropped) {
+                                System.err.println("Loopback check did not drop a job: " + input);
+                                ok = false;
+                            }
+                            if (ok) passed++;
+                        } catch (RuntimeException e) {
+                            System.err.println("Loopback check failed: " + input + (alphaBeta ? " Alpha-Beta" : " MiniMax"));
+                            e.printStackTrace();
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Cannot start loopback workers: " + e.getMessage());
+            total++;
+        } finally {
+            for (Closeable server : servers) {
+                try {
+                    server.close();
+                } catch (IOException ignored) {
+                    // Shutting down anyway
+                }
+            }
+        }
+        return new int[]{passed, total};
+    }
+
+    /**
+     * Compares a distributed search with a local one. MiniMax must agree on the move, positions evaluated and
+     * estimate; Alpha-Beta only on the estimate and the value of the move, since the split search prunes and
+     * breaks ties differently.
+     *
+     * @return True if the searches agree
+     */
+    private static boolean checkLoopback(List<InetSocketAddress> workers, boolean alphaBeta, String input) {
+        DistributedSearch distributed = new DistributedSearch(new BasicEstimator(), workers);
+        distributed.setAlphaBeta(alphaBeta);
+        SearchAlgorithm local = alphaBeta ? new AlphaBetaAlgorithm(new BasicEstimator()) : new MiniMaxAlgorithm(new BasicEstimator());
+        Result expected = local.computeBestMove(new Board(input), LOOPBACK_DEPTH, Player.WHITE);
+        Result actual = distributed.computeBestMove(new Board(input), LOOPBACK_DEPTH, Player.WHITE);
+
+        boolean same = actual.getEstimate() == expected.getEstimate();
+        if (alphaBeta) {
+            Result reply = new MiniMaxAlgorithm(new BasicEstimator())
+                    .computeBestMove(actual.getBestBoard(), LOOPBACK_DEPTH - 1, Player.BLACK);
+            same &= reply.getEstimate() == expected.getEstimate();
+        } else {
+            same &= actual.getBestBoard().toString().equals(expected.getBestBoard().toString())
+                    && actual.getPositionsEvaluated() == expected.getPositionsEvaluated();
+        }
+        if (!same) {
+            System.err.printf("Loopback %s %s: got %s %d %d, local %s %d %d%n", alphaBeta ? "Alpha-Beta" : "MiniMax", input,
+                    actual.getBestBoard(), actual.getPositionsEvaluated(), actual.getEstimate(),
+                    expected.getBestBoard(), expected.getPositionsEvaluated(), expected.getEstimate());
+        }
+        return same;
+    }
+
     /**
      * Validates program output against expected results
      *
@@ -191,9 +330,19 @@ public class JumpyTestSuite {
          */
         int depth;
 
+        /**
+         * Command-line options passed after the depth
+         */
+        String[] flags;
+
         public TestCase(String input, int depth, Map<ProblemType, ExpectedResult> expected) {
+            this(input, depth, new String[0], expected);
+        }
+
+        public TestCase(String input, int depth, String[] flags, Map<ProblemType, ExpectedResult> expected) {
             this.inputBoard = input;
             this.depth = depth;
+            this.flags = flags;
             this.expectedResults = expected;
         }
     }
@@ -223,4 +372,52 @@ public class JumpyTestSuite {
             this.estimate = estimate;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Loopback worker that accepts the handshake, reads one job and closes the connection without replying,
+     * as a worker killed mid-job does
+     */
+    static class DroppingWorker implements Closeable {
+        /**
+         * Jobs received and dropped
+         */
+        final AtomicInteger dropped = new AtomicInteger();
+
+        private final ServerSocket server;
+
+        DroppingWorker() throws IOException {
+            server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread acceptor = new Thread(this::run, "dropping-worker-" + server.getLocalPort());
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int getPort() {
+            return server.getLocalPort();
+        }
+
+        private void run() {
+            while (!server.isClosed()) {
+                try (Socket socket = server.accept()) {
+                    DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                    DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                    in.readInt();  // Magic
+                    in.readShort();  // Version
+                    in.readInt();  // Estimator identity
+                    out.writeInt(0);  // Accepted
+                    out.flush();
+                    // Opcode, id, position, algorithm, depth, alpha, beta
+                    in.readFully(new byte[1 + 8 + 8 + 1 + 4 + 4 + 4]);
+                    dropped.incrementAndGet();
+                } catch (IOException e) {
+                    // Closed, or the coordinator went away before sending a job
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+        }
+    }
+}
@@ -4,9 +4,11 @@ import models.MiniMaxAlgorithm;
 import models.Player;
 import models.ProblemType;
 import models.Result;
+import models.SearchTrace;
 import models.StaticEstimator;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Map;
 
 import static models.Utils.convertArgsToMap;
@@ -55,6 +57,10 @@ public class MiniMax {
      *                 <li>"inputDir" – Path to the input board file</li>
      *                 <li>"outputDir" – Path to the output board file</li>
      *                 <li>"depth" – Search depth for the MiniMax tree</li>
+     *                 <li>"stats" – Optional flag; prints per-ply search statistics</li>
+     *                 <li>"pv" – Optional flag; also prints the principal variation</li>
+     *                 <li>"workers", "connections", "split-depth" – Optional distributed search, as for AlphaBeta</li>
+     *                 <li>"trace" – Optional file receiving every node of the local search (see SearchTraceViewer)</li>
      *               </ul>
      * @throws IOException If there is an error reading the input file or writing the output.
      */
@@ -70,18 +76,33 @@ public class MiniMax {
 
         // Configure MiniMax algorithm with the estimator
         MiniMaxAlgorithm miniMaxAlgorithm = new MiniMaxAlgorithm(staticEstimator);
+        miniMaxAlgorithm.setCollectStats(params.containsKey("stats"));  // Optional --stats flag
 
         // Parse the board state
         Board board = new Board(inputString);
 
         // Compute best move for White using MiniMax at the specified depth
-        Result result = miniMaxAlgorithm.computeBestMove(
-                board,
-                Integer.parseInt(params.get("depth")),
-                Player.WHITE
-        );
+        Result result;
+        if (params.containsKey("workers")) {
+            // Optional --workers=<host:port,...> flag: split the search across DistributedWorker processes
+            result = AlphaBeta.distributedSearch(staticEstimator, params, false).computeBestMove(
+                    board, Integer.parseInt(params.get("depth")), Player.WHITE);
+        } else if (params.containsKey("trace")) {
+            // Optional --trace=<file> flag: record every searched node
+            try (SearchTrace trace = new SearchTrace(Paths.get(params.get("trace")), staticEstimator)) {
+                miniMaxAlgorithm.setTrace(trace);
+                result = miniMaxAlgorithm.computeBestMove(board, Integer.parseInt(params.get("depth")), Player.WHITE);
+                System.out.println("Search trace: " + trace.getNodes() + " nodes written to " + params.get("trace"));
+            }
+        } else {
+            result = miniMaxAlgorithm.computeBestMove(
+                    board,
+                    Integer.parseInt(params.get("depth")),
+                    Player.WHITE
+            );
+        }
 
         // Write output to file and print metrics
-        output(result, params.get("outputDir"), ProblemType.MIN_MAX);
+        output(result, params.get("outputDir"), ProblemType.MIN_MAX, params.containsKey("pv"));  // Optional --pv flag
     }
 }
\ No newline at end of file
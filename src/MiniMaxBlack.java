@@ -53,6 +53,8 @@ public class MiniMaxBlack {
      *                 <li>"inputDir" - Source board file (e.g., "board1.txt")</li>
      *                 <li>"outputDir" - Target file for new board state</li>
      *                 <li>"depth" - MiniMax search depth (e.g., "2")</li>
+     *                 <li>"stats" - Optional flag; prints per-ply search statistics</li>
+     *                 <li>"pv" - Optional flag; also prints the principal variation</li>
      *               </ul>
      */
     private static void computeMiniMaxBlack(Map<String, String> params) throws IOException {
@@ -63,6 +65,7 @@ public class MiniMaxBlack {
         // Configure MiniMax with basic static estimation
         StaticEstimator staticEstimator = new BasicEstimator();
         MiniMaxAlgorithm miniMaxAlgorithm = new MiniMaxAlgorithm(staticEstimator);
+        miniMaxAlgorithm.setCollectStats(params.containsKey("stats"));  // Optional --stats flag
 
         // Compute optimal move for Black
         Board board = new Board(inputString);
@@ -73,6 +76,6 @@ public class MiniMaxBlack {
         );
 
         // Write output
-        output(result, params.get("outputDir"), ProblemType.MIN_MAX_BLACK);
+        output(result, params.get("outputDir"), ProblemType.MIN_MAX_BLACK, params.containsKey("pv"));  // Optional --pv flag
     }
 }
\ No newline at end of file
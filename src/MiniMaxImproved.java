@@ -1,12 +1,17 @@
+import models.BasicEstimator;
 import models.Board;
 import models.ImprovedEstimator;
 import models.MiniMaxAlgorithm;
+import models.MultiEstimatorSearch;
+import models.ParameterizedEstimator;
 import models.Player;
 import models.ProblemType;
 import models.Result;
 import models.StaticEstimator;
 
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
 import java.util.Map;
 
 import static models.Utils.convertArgsToMap;
@@ -54,6 +59,10 @@ public class MiniMaxImproved {
      *                 <li>"inputDir" - Source board file (e.g., "input.txt")</li>
      *                 <li>"outputDir" - Destination file for new board state</li>
      *                 <li>"depth" - Search depth (e.g., "2")</li>
+     *                 <li>"stats" - Optional flag; prints per-ply search statistics</li>
+     *                 <li>"pv" - Optional flag; also prints the principal variation</li>
+     *                 <li>"compare" - Optional flag; also reports the basic estimator's move from the same tree</li>
+     *                 <li>"weights" - Optional weights file (see {@code EstimatorTuner}) replacing the built-in weights</li>
      *               </ul>
      */
     private static void computeMiniMaxImproved(Map<String, String> params) throws IOException {
@@ -63,17 +72,35 @@ public class MiniMaxImproved {
 
         // Initialize MiniMax with IMPROVED static estimation
         StaticEstimator staticEstimator = new ImprovedEstimator();  // Key difference from original MiniMax
+        if (params.containsKey("weights")) {
+            // Optional --weights=<file> flag: same features with tuned weights
+            staticEstimator = ParameterizedEstimator.load(Paths.get(params.get("weights")));
+        }
+        Board board = new Board(inputString);
+        int depth = Integer.parseInt(params.get("depth"));
+        if (params.containsKey("compare")) {
+            // Optional --compare flag: one shared tree evaluated with the improved and the basic estimator
+            MultiEstimatorSearch search = new MultiEstimatorSearch(List.of(staticEstimator, new BasicEstimator()));
+            search.setCollectStats(params.containsKey("stats"));
+            List<Result> results = search.computeBestMoves(board, depth, Player.WHITE);
+            output(results.get(0), params.get("outputDir"), ProblemType.MIN_MAX_IMPROVED);
+            Result basic = results.get(1);
+            System.out.println("Basic estimator board position: " + basic.getBestBoard());
+            System.out.println(ProblemType.MIN_MAX.getName() + " estimate: " + basic.getEstimate());
+            return;
+        }
+
         MiniMaxAlgorithm miniMaxAlgorithm = new MiniMaxAlgorithm(staticEstimator);
+        miniMaxAlgorithm.setCollectStats(params.containsKey("stats"));  // Optional --stats flag
 
         // Compute best move for White using enhanced heuristic
-        Board board = new Board(inputString);
         Result result = miniMaxAlgorithm.computeBestMove(
                 board,
-                Integer.parseInt(params.get("depth")),
+                depth,
                 Player.WHITE
         );
 
         // Write output with improved evaluation metrics
-        output(result, params.get("outputDir"), ProblemType.MIN_MAX_IMPROVED);
+        output(result, params.get("outputDir"), ProblemType.MIN_MAX_IMPROVED, params.containsKey("pv"));  // Optional --pv flag
     }
 }
\ No newline at end of file
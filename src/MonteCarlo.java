@@ -0,0 +1,90 @@
+import models.BasicEstimator;
+import models.Board;
+import models.ImprovedEstimator;
+import models.MonteCarloTreeSearch;
+import models.Player;
+import models.ProblemType;
+import models.Result;
+import models.SearchControl;
+import models.StaticEstimator;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static models.Utils.convertArgsToMap;
+import static models.Utils.getInputStringFromFile;
+import static models.Utils.output;
+import static models.Utils.validateInputString;
+
+/**
+ * Computes White's move with Monte Carlo Tree Search instead of a depth-limited search.
+ * <p>
+ * The third argument is the playout budget. With {@code --time=<ms>} the search instead runs until the
+ * time is up (anytime), so more threads mean more playouts in the same time.
+ * Usage: java -cp [output_folder] MonteCarlo [input_file] [output_file] [playouts] [--threads=N] [--time=MS]
+ * [--horizon=PLIES] [--estimator=basic|improved] [--seed=S]
+ * </p>
+ * <p>
+ * Example: java -cp bin/ MonteCarlo input.txt output.txt 100000 --threads=8
+ * </p>
+ */
+public class MonteCarlo {
+    /**
+     * Main entry point for the Monte Carlo search.
+     *
+     * @param args Input path, output path, playout budget and optional flags.
+     *             Example: {"board1.txt", "board2.txt", "100000", "--threads=8"}
+     */
+    public static void main(String[] args) {
+        Map<String, String> params = convertArgsToMap(args);
+        try {
+            computeMonteCarlo(params);
+        } catch (IOException e) {
+            throw new RuntimeException("Error while computing MonteCarlo", e);
+        }
+    }
+
+    /**
+     * @param params Requires:
+     *               <ul>
+     *                 <li>"inputDir" - Source board file (e.g., "input.txt")</li>
+     *                 <li>"outputDir" - Destination file for new board state</li>
+     *                 <li>"depth" - Playout budget (e.g., "100000")</li>
+     *                 <li>"threads" - Optional threads growing the tree (default: all processors)</li>
+     *                 <li>"time" - Optional time limit in milliseconds replacing the playout budget</li>
+     *                 <li>"horizon" - Optional plies after which playouts are scored by the estimator</li>
+     *                 <li>"estimator" - Optional estimator for cut-off playouts: basic (default) or improved</li>
+     *                 <li>"seed" - Optional random seed</li>
+     *               </ul>
+     */
+    private static void computeMonteCarlo(Map<String, String> params) throws IOException {
+        String inputString = getInputStringFromFile(params.get("inputDir"));
+        validateInputString(inputString);
+
+        String estimatorName = params.getOrDefault("estimator", "basic");
+        StaticEstimator staticEstimator;
+        if (estimatorName.equals("basic")) {
+            staticEstimator = new BasicEstimator();
+        } else if (estimatorName.equals("improved")) {
+            staticEstimator = new ImprovedEstimator();
+        } else {
+            throw new IllegalArgumentException("Invalid estimator: " + estimatorName + ". Valid values: basic, improved");
+        }
+
+        MonteCarloTreeSearch search = new MonteCarloTreeSearch(staticEstimator);
+        search.setThreads(Integer.parseInt(params.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors()))));
+        search.setHorizon(Integer.parseInt(params.getOrDefault("horizon", "0")));
+        if (params.containsKey("seed")) search.setSeed(Long.parseLong(params.get("seed")));
+
+        Board board = new Board(inputString);
+        Result result = params.containsKey("time")
+                ? search.search(board, Player.WHITE, Long.MAX_VALUE,
+                new SearchControl(Long.parseLong(params.get("time")) * 1_000_000L))
+                : search.search(board, Player.WHITE, Long.parseLong(params.get("depth")), null);
+
+        output(result, params.get("outputDir"), ProblemType.MCTS);
+        double seconds = result.getStats().getElapsedNanos() / 1e9;
+        System.out.printf("Playouts per second: %.0f%n", result.getPositionsEvaluated() / Math.max(seconds, 1e-9));
+    }
+}
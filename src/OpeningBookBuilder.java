@@ -0,0 +1,161 @@
+import models.AlphaBetaAlgorithm;
+import models.BasicEstimator;
+import models.Board;
+import models.ImprovedEstimator;
+import models.OpeningBook;
+import models.PackedBoard;
+import models.Player;
+import models.PositionHistory;
+import models.Result;
+import models.StaticEstimator;
+import models.TranspositionTable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static models.Utils.parseFlags;
+import static models.Utils.validateInputString;
+
+/**
+ * Builds an opening book by searching every position within the first plies of a game.
+ * <p>
+ * Positions reachable from the start position (White to move) in fewer than {@code plies} moves are
+ * enumerated breadth-first without duplicates, then searched with plain Alpha-Beta at {@code depth}
+ * in parallel. Each position's best move and estimate are written to a sorted {@link OpeningBook} file.
+ * Usage: java -cp [output_folder] OpeningBookBuilder [book_file] [plies] [depth] [--start=BOARD]
+ * [--estimator=basic|improved] [--threads=N]
+ * </p>
+ * <p>
+ * Example: java -cp bin/ OpeningBookBuilder opening.book 6 14
+ * </p>
+ */
+public class OpeningBookBuilder {
+    private static final String START_POSITION = "WwwwxxxxxxxxbbbB";
+
+    /**
+     * Main entry point for the opening book builder.
+     *
+     * @param args Book path, number of plies covered, search depth and optional flags.
+     *             Example: {"opening.book", "6", "14", "--threads=8"}
+     */
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Invalid argument count - Required format: [book_file] [plies] [depth] "
+                    + "[--start=BOARD] [--estimator=basic|improved] [--threads=N]");
+        }
+        Map<String, String> flags = parseFlags(args, 3);
+        try {
+            build(Paths.get(args[0]), Integer.parseInt(args[1]), Integer.parseInt(args[2]), flags);
+        } catch (IOException | ExecutionException e) {
+            throw new RuntimeException("Error while building opening book", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Enumerates, searches and saves the book positions.
+     *
+     * @param bookFile Destination file
+     * @param plies    Moves from the start position covered by the book
+     * @param depth    Search depth of every entry
+     * @param flags    Optional start position, estimator and thread count
+     */
+    private static void build(Path bookFile, int plies, int depth, Map<String, String> flags)
+            throws IOException, ExecutionException, InterruptedException {
+        String start = flags.getOrDefault("start", START_POSITION);
+        validateInputString(start);
+        StaticEstimator estimator = estimator(flags.getOrDefault("estimator", "basic"));
+        int threads = Integer.parseInt(flags.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        List<Board> boards = new ArrayList<>();
+        List<Player> players = new ArrayList<>();
+        enumerate(new Board(start), plies, boards, players);
+        System.out.println("Positions to search: " + boards.size());
+
+        long[] keys = new long[boards.size()];
+        long[] entries = new long[boards.size()];
+        AlphaBetaAlgorithm algorithm = new AlphaBetaAlgorithm(estimator);
+        long startNanos = System.nanoTime();
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> IntStream.range(0, boards.size()).parallel().forEach(i -> {
+                Board board = boards.get(i);
+                Player player = players.get(i);
+                Result result = algorithm.computeBestMove(board, depth, player);
+                keys[i] = PositionHistory.key(board, player);
+                entries[i] = TranspositionTable.entry(result.getEstimate(), depth, TranspositionTable.EXACT,
+                        moveIndex(board, player, result.getBestBoard()));
+            })).get();
+        } finally {
+            pool.shutdown();
+        }
+
+        OpeningBook book = OpeningBook.of(estimator, depth, keys, entries);
+        book.save(bookFile);
+        System.out.printf("Searched %d positions at depth %d in %.1f s using %d threads%n",
+                book.size(), depth, (System.nanoTime() - startNanos) / 1e9, threads);
+        System.out.println("Book written: " + bookFile + " (" + Files.size(bookFile) + " bytes)");
+    }
+
+    /**
+     * Breadth-first enumeration of distinct, non-final positions reachable in fewer than {@code plies} moves
+     */
+    private static void enumerate(Board start, int plies, List<Board> boards, List<Player> players) {
+        Map<Long, Board> seen = new LinkedHashMap<>();
+        List<Board> frontier = new ArrayList<>();
+        frontier.add(start);
+        Player player = Player.WHITE;
+        for (int ply = 0; ply < plies && !frontier.isEmpty(); ply++) {
+            List<Board> next = new ArrayList<>();
+            for (Board board : frontier) {
+                if (board.isTerminal()) continue;
+                List<Board> moves = player == Player.WHITE ? board.generateWhiteMoves() : board.generateBlackMoves();
+                if (moves.isEmpty() || seen.putIfAbsent(PositionHistory.key(board, player), board) != null) continue;
+                boards.add(board);
+                players.add(player);
+                next.addAll(moves);
+            }
+            frontier = next;
+            player = player.opposite();
+        }
+    }
+
+    /**
+     * @return Generation-order index of the best move, or -1 if there is none
+     */
+    private static int moveIndex(Board board, Player player, Board bestBoard) {
+        if (bestBoard == null) return -1;
+        List<Board> moves = player == Player.WHITE ? board.generateWhiteMoves() : board.generateBlackMoves();
+        long best = PackedBoard.pack(bestBoard);
+        for (int i = 0; i < moves.size(); i++) {
+            if (PackedBoard.pack(moves.get(i)) == best) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @return Estimator for a command-line name
+     */
+    private static StaticEstimator estimator(String name) {
+        switch (name) {
+            case "basic":
+                return new BasicEstimator();
+            case "improved":
+                return new ImprovedEstimator();
+            default:
+                throw new IllegalArgumentException("Invalid estimator: " + name + ". Valid values: basic, improved");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+import models.Player;
+import models.SearchTraceReader;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static models.Utils.parseFlags;
+import static models.Utils.validateInputString;
+
+/**
+ * Inspects a search trace recorded with {@code --trace} ({@code AlphaBeta}, {@code MiniMax}): prints
+ * per-ply node, cutoff and quiescence counts and the upper plies of every recorded search tree.
+ * <p>
+ * Usage: java -cp [output_folder] SearchTraceViewer [trace_file] [--plies=1] [--position=board] [--side=white|black]
+ * </p>
+ * <p>
+ * Example: java -cp bin/ SearchTraceViewer search.trace --position=xwwxxbxxwBxxWxbb
+ * </p>
+ * <p>
+ * With {@code --position}, every node of that position (either side to move unless {@code --side} is given)
+ * is listed instead of the trees.
+ * </p>
+ */
+public class SearchTraceViewer {
+    /**
+     * Main entry point for the trace viewer.
+     *
+     * @param args Trace path and optional flags.
+     *             Example: {"search.trace", "--plies=2"}
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Invalid argument count - "
+                    + "Required format: [trace_file] [--plies=1] [--position=board] [--side=white|black]");
+        }
+        Map<String, String> flags = parseFlags(args, 1);
+        try (SearchTraceReader reader = new SearchTraceReader(Paths.get(args[0]))) {
+            summary(reader);
+            if (flags.containsKey("position")) {
+                positions(reader, flags.get("position"), flags.get("side"));
+            } else {
+                int plies = Integer.parseInt(flags.getOrDefault("plies", "1"));
+                for (SearchTraceReader.Node root : reader.readTree(plies)) {
+                    print(root, plies);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error while reading search trace", e);
+        }
+    }
+
+    /**
+     * Prints node, cutoff, fail and quiescence counts per ply
+     */
+    private static void summary(SearchTraceReader reader) throws IOException {
+        List<long[]> plies = new ArrayList<>();  // nodes, cutoffs, fails, quiescence
+        long[] roots = new long[1];
+        reader.forEach(node -> {
+            while (plies.size() <= node.getPly()) plies.add(new long[4]);
+            long[] counts = plies.get(node.getPly());
+            counts[0]++;
+            if (node.isCutoff()) counts[1]++;
+            if (node.isFail()) counts[2]++;
+            if (node.isQuiescence()) counts[3]++;
+            if (node.getPly() == 0) roots[0]++;
+        });
+        System.out.println("Nodes: " + reader.size() + " in " + roots[0] + " searches (estimator identity "
+                + Integer.toHexString(reader.getEstimatorIdentity()) + ")");
+        System.out.println("ply  nodes        cutoffs      fails        quiescence");
+        for (int ply = 0; ply < plies.size(); ply++) {
+            long[] counts = plies.get(ply);
+            System.out.printf("%-4d %-12d %-12d %-12d %d%n", ply, counts[0], counts[1], counts[2], counts[3]);
+        }
+    }
+
+    /**
+     * Lists every node of a position in file order
+     */
+    private static void positions(SearchTraceReader reader, String position, String side) throws IOException {
+        validateInputString(position);
+        Player player = side == null ? null : Player.valueOf(side.toUpperCase());
+        long[] found = new long[1];
+        reader.forEach(node -> {
+            if (node.getBoard().toString().equals(position) && (player == null || node.getPlayer() == player)) {
+                System.out.println(node);
+                found[0]++;
+            }
+        });
+        System.out.println(found[0] + " nodes of " + position);
+    }
+
+    /**
+     * Prints a node indented by ply with its subtree size, then its children down to the given ply
+     */
+    private static void print(SearchTraceReader.Node node, int plies) {
+        System.out.println("  ".repeat(node.getPly()) + node + " (" + node.getSubtreeSize() + " nodes)");
+        if (node.getPly() >= plies) return;
+        for (SearchTraceReader.Node child : node.getChildren()) {
+            print(child, plies);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+import models.AlphaBetaAlgorithm;
+import models.BasicEstimator;
+import models.Board;
+import models.CorpusReader;
+import models.PackedBoard;
+import models.Player;
+import models.Result;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.LongStream;
+
+import static models.Utils.parseFlags;
+
+/**
+ * Quantifies the selective-search tradeoff: runs plain and selective Alpha-Beta on every position
+ * of a binary corpus and reports evaluated positions and result agreement.
+ * <p>
+ * Usage: java -cp [output_folder] SelectiveSearchReport [corpus_file] [depth] [--lmr=N] [--lmr-reduction=R]
+ * [--futility=M] [--quiescence=Q] [--baseline-depth=D]
+ * </p>
+ * <p>
+ * The plain search runs at {@code --baseline-depth} (default: the same depth), so a shallow search with
+ * quiescence can be checked against the deeper search it is meant to replace.
+ * </p>
+ * <p>
+ * Example: java -cp bin/ SelectiveSearchReport boards.jmpc 9 --lmr=2 --futility=3
+ * </p>
+ * <p>
+ * Positions are searched for the corpus' side to move (White when the corpus carries no side).
+ * Terminal positions are skipped.
+ * </p>
+ */
+public class SelectiveSearchReport {
+    /**
+     * Main entry point for the selective search report.
+     *
+     * @param args Corpus path, search depth and optional selective search flags.
+     *             Example: {"boards.jmpc", "9", "--lmr=2"}
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Invalid argument count - "
+                    + "Required format: [corpus_file] [depth] [--lmr=N] [--lmr-reduction=R] [--futility=M] "
+                    + "[--quiescence=Q] [--baseline-depth=D]");
+        }
+        Map<String, String> flags = parseFlags(args, 2);
+        try {
+            report(args[0], Integer.parseInt(args[1]), flags);
+        } catch (IOException e) {
+            throw new RuntimeException("Error while reading corpus", e);
+        }
+    }
+
+    /**
+     * Searches every corpus position with both configurations in parallel and prints the summary.
+     *
+     * @param corpusFile Binary corpus path
+     * @param depth      Search depth for the selective configuration
+     * @param flags      Selective search options
+     * @throws IOException If the corpus cannot be read
+     */
+    private static void report(String corpusFile, int depth, Map<String, String> flags) throws IOException {
+        AlphaBetaAlgorithm plain = new AlphaBetaAlgorithm(new BasicEstimator());
+        AlphaBetaAlgorithm selective = new AlphaBetaAlgorithm(new BasicEstimator());
+        selective.setLateMoveReduction(Integer.parseInt(flags.getOrDefault("lmr", "0")),
+                Integer.parseInt(flags.getOrDefault("lmr-reduction", "1")));
+        selective.setFutilityMargin(Integer.parseInt(flags.getOrDefault("futility", "0")));
+        selective.setQuiescence(Integer.parseInt(flags.getOrDefault("quiescence", "0")));
+        int baselineDepth = Integer.parseInt(flags.getOrDefault("baseline-depth", String.valueOf(depth)));
+
+        LongAdder positions = new LongAdder();
+        LongAdder plainEvaluated = new LongAdder();
+        LongAdder selectiveEvaluated = new LongAdder();
+        LongAdder sameBoard = new LongAdder();
+        LongAdder sameEstimate = new LongAdder();
+        LongAccumulator maxDeviation = new LongAccumulator(Math::max, 0);
+
+        try (CorpusReader reader = new CorpusReader(Paths.get(corpusFile))) {
+            boolean sideToMove = reader.hasSideToMove();
+            LongStream.range(0, reader.size()).parallel().forEach(index -> {
+                long packed = reader.get(index);
+                Board board = PackedBoard.toBoard(packed);
+                if (board.isTerminal()) return;
+                Player player = sideToMove ? PackedBoard.sideToMove(packed) : Player.WHITE;
+
+                Result expected = plain.computeBestMove(board, baselineDepth, player);
+                Result actual = selective.computeBestMove(board, depth, player);
+
+                positions.increment();
+                plainEvaluated.add(expected.getPositionsEvaluated());
+                selectiveEvaluated.add(actual.getPositionsEvaluated());
+                if (String.valueOf(expected.getBestBoard()).equals(String.valueOf(actual.getBestBoard()))) {
+                    sameBoard.increment();
+                }
+                if (expected.getEstimate() == actual.getEstimate()) sameEstimate.increment();
+                maxDeviation.accumulate(Math.abs((long) expected.getEstimate() - actual.getEstimate()));
+            });
+        }
+
+        long searched = Math.max(positions.sum(), 1);
+        System.out.println("Positions searched: " + positions.sum() + " (plain depth " + baselineDepth
+                + ", selective depth " + depth + ")");
+        System.out.println("Plain AlphaBeta positions evaluated: " + plainEvaluated.sum());
+        System.out.println("Selective AlphaBeta positions evaluated: " + selectiveEvaluated.sum());
+        System.out.printf("Evaluation ratio (selective / plain): %.3f%n",
+                (double) selectiveEvaluated.sum() / Math.max(plainEvaluated.sum(), 1));
+        System.out.printf("Same best board: %d (%.1f%%)%n", sameBoard.sum(), 100.0 * sameBoard.sum() / searched);
+        System.out.printf("Same estimate: %d (%.1f%%)%n", sameEstimate.sum(), 100.0 * sameEstimate.sum() / searched);
+        System.out.println("Largest estimate deviation: " + maxDeviation.get());
+    }
+}
@@ -0,0 +1,95 @@
+import models.BasicEstimator;
+import models.Board;
+import models.GameSession;
+import models.HeapTranspositionTable;
+import models.Player;
+import models.Result;
+import models.TranspositionTable;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static models.Utils.getInputStringFromFile;
+import static models.Utils.parseFlags;
+import static models.Utils.validateInputString;
+
+/**
+ * Plays a game against itself with Alpha-Beta and reports the search effort per move.
+ * <p>
+ * Uses a {@link GameSession}, so the transposition table built while choosing one move seeds the next
+ * search. Pass {@code --fresh} to clear the table before every move and measure the work reuse saves, or
+ * {@code --ponder} to search the predicted reply in the background while the other side thinks.
+ * Reported times are wall-clock time spent waiting for each move.
+ * Usage: java -cp [output_folder] SelfPlay [input_file] [depth] [--max-moves=N] [--table-bits=B] [--fresh] [--ponder]
+ * </p>
+ * <p>
+ * Example: java -cp bin/ SelfPlay input.txt 9 --max-moves=40
+ * </p>
+ */
+public class SelfPlay {
+    /**
+     * Main entry point for self-play.
+     *
+     * @param args Input path, search depth and optional flags.
+     *             Example: {"board1.txt", "9", "--fresh"}
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Invalid argument count - "
+                    + "Required format: [input_file] [depth] [--max-moves=N] [--table-bits=B] [--fresh] [--ponder]");
+        }
+        Map<String, String> flags = parseFlags(args, 2);
+        try {
+            play(args[0], Integer.parseInt(args[1]), flags);
+        } catch (IOException e) {
+            throw new RuntimeException("Error while running self-play", e);
+        }
+    }
+
+    /**
+     * Plays until the game ends or the move limit is reached, printing one line per move.
+     *
+     * @param inputFile Starting board file
+     * @param depth     Search depth per move
+     * @param flags     Optional move limit, table size, fresh-table and pondering modes
+     * @throws IOException If the board file cannot be read
+     */
+    private static void play(String inputFile, int depth, Map<String, String> flags) throws IOException {
+        String inputString = getInputStringFromFile(inputFile);
+        validateInputString(inputString);
+        int maxMoves = Integer.parseInt(flags.getOrDefault("max-moves", "200"));
+        int tableBits = Integer.parseInt(flags.getOrDefault("table-bits", String.valueOf(GameSession.DEFAULT_TABLE_BITS)));
+        boolean fresh = flags.containsKey("fresh");
+
+        TranspositionTable table = new HeapTranspositionTable(tableBits);
+        long totalEvaluated = 0;
+        long totalNanos = 0;
+
+        try (GameSession session = new GameSession(new BasicEstimator(), depth, new Board(inputString),
+                Player.WHITE, table)) {
+            session.setPondering(flags.containsKey("ponder"));
+            while (!session.isOver() && session.getMovesPlayed() < maxMoves) {
+                if (fresh) table.clear();
+                Player player = session.getPlayer();
+                long start = System.nanoTime();
+                Result result = session.move();
+                long waited = System.nanoTime() - start;
+                totalEvaluated += result.getPositionsEvaluated();
+                totalNanos += waited;
+                System.out.printf("%3d %-5s %s  estimate %6d  evaluated %10d  table hits %5.1f%%  %8.2f ms%n",
+                        session.getMovesPlayed(), player, session.getBoard(), result.getEstimate(),
+                        result.getPositionsEvaluated(), 100 * result.getStats().getTableHitRate(), waited / 1e6);
+            }
+
+            Board board = session.getBoard();
+            String outcome = board.isWhiteWin() ? "White wins" : board.isBlackWin() ? "Black wins"
+                    : session.isOver() ? session.getPlayer() + " cannot move" : "Move limit reached";
+            System.out.println(outcome + " after " + session.getMovesPlayed() + " moves");
+            System.out.println("Positions evaluated: " + totalEvaluated);
+            System.out.printf("Time waiting for moves: %.1f ms%n", totalNanos / 1e6);
+            if (flags.containsKey("ponder")) {
+                System.out.println("Ponder hits: " + session.getPonderHits() + ", misses: " + session.getPonderMisses());
+            }
+        }
+    }
+}
@@ -0,0 +1,354 @@
+import models.AlphaBetaAlgorithm;
+import models.BasicEstimator;
+import models.Board;
+import models.CorpusWriter;
+import models.ImprovedEstimator;
+import models.MiniMaxAlgorithm;
+import models.MonteCarloTreeSearch;
+import models.PackedBoard;
+import models.ParameterizedEstimator;
+import models.Player;
+import models.PositionHistory;
+import models.Result;
+import models.SearchAlgorithm;
+import models.SearchControl;
+import models.StaticEstimator;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static models.Utils.parseFlags;
+import static models.Utils.validateInputString;
+
+/**
+ * Plays many full games between two engine configurations in parallel and reports their relative strength.
+ * <p>
+ * An engine is written {@code algorithm:estimator:limit}: algorithm {@code alphabeta}, {@code minimax} or
+ * {@code mcts} (single-threaded per game, where a numeric limit is the playout budget per move),
+ * estimator {@code basic}, {@code improved} or {@code weights=<file>} (a {@link ParameterizedEstimator}
+ * weights file), and a limit that is either a fixed depth ({@code 9}) or a time per move ({@code 50ms},
+ * searched by iterative deepening until the time runs out). Games are played in pairs from the same randomised opening with colours swapped. A game is drawn on the third occurrence
+ * of a position or at the ply limit. With {@code --dump=<corpus>}, every position played after the opening
+ * is written to a corpus labelled with the game's result, the input of {@code EstimatorTuner}.
+ * Usage: java -cp [output_folder] Tournament [games] [engine_a] [engine_b] [--threads=N] [--random-plies=K]
+ * [--max-plies=P] [--seed=S] [--start=BOARD] [--dump=CORPUS]
+ * </p>
+ * <p>
+ * Example: java -cp bin/ Tournament 1000 alphabeta:improved:8 alphabeta:basic:8 --threads=8
+ * </p>
+ */
+public class Tournament {
+    private static final String START_POSITION = "WwwwxxxxxxxxbbbB";
+    private static final int MAX_ITERATIVE_DEPTH = 64;
+
+    /**
+     * Main entry point for the tournament.
+     *
+     * @param args Number of games, the two engines and optional flags.
+     *             Example: {"1000", "alphabeta:improved:8", "alphabeta:basic:8", "--threads=8"}
+     */
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Invalid argument count - Required format: [games] [engine_a] "
+                    + "[engine_b] [--threads=N] [--random-plies=K] [--max-plies=P] [--seed=S] [--start=BOARD] [--dump=CORPUS]");
+        }
+        Map<String, String> flags = parseFlags(args, 3);
+        try {
+            run(Integer.parseInt(args[0]), Engine.parse(args[1]), Engine.parse(args[2]), flags);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error while playing tournament", e.getCause());
+        } catch (IOException e) {
+            throw new RuntimeException("Error while writing tournament positions", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Schedules every game on a fixed thread pool, then aggregates and prints the results.
+     * Positions are dumped in game order, so the corpus does not depend on the thread count.
+     */
+    private static void run(int games, Engine a, Engine b, Map<String, String> flags)
+            throws ExecutionException, InterruptedException, IOException {
+        int threads = Integer.parseInt(flags.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int randomPlies = Integer.parseInt(flags.getOrDefault("random-plies", "4"));
+        int maxPlies = Integer.parseInt(flags.getOrDefault("max-plies", "200"));
+        long seed = Long.parseLong(flags.getOrDefault("seed", "1"));
+        String start = flags.getOrDefault("start", START_POSITION);
+        validateInputString(start);
+
+        long startNanos = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<Game>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < games; i++) {
+                boolean aIsWhite = i % 2 == 0;
+                long openingSeed = seed + i / 2;  // Both games of a pair share their opening
+                futures.add(pool.submit(() -> Game.play(new Board(start), aIsWhite ? a : b, aIsWhite ? b : a,
+                        aIsWhite, openingSeed, randomPlies, maxPlies)));
+            }
+            Score score = new Score();
+            try (CorpusWriter dump = flags.containsKey("dump")
+                    ? new CorpusWriter(Paths.get(flags.get("dump")), true, true) : null) {
+                for (Future<Game> future : futures) {
+                    Game game = future.get();
+                    score.add(game);
+                    if (dump != null) game.dump(dump);
+                }
+                score.print(a, b, games, threads, System.nanoTime() - startNanos);
+                if (dump != null) System.out.println("Labelled positions written: " + dump.getCount());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Engine configuration: algorithm and estimator with a depth or time limit, plus its move statistics
+     */
+    private static final class Engine {
+        private final String label;
+        private final String algorithm;
+        private final String estimator;
+        private final int depth;
+        private final long moveNanos;
+        private ParameterizedEstimator weights;  // Loaded once for "weights=<file>" estimators
+
+        private Engine(String label, String algorithm, String estimator, int depth, long moveNanos) {
+            this.label = label;
+            this.algorithm = algorithm;
+            this.estimator = estimator;
+            this.depth = depth;
+            this.moveNanos = moveNanos;
+        }
+
+        /**
+         * @param spec {@code algorithm:estimator:depth} or {@code algorithm:estimator:<millis>ms}
+         * @return Parsed configuration
+         * @throws IllegalArgumentException For malformed specifications
+         */
+        static Engine parse(String spec) {
+            String[] parts = spec.split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid engine '" + spec + "' - Expected algorithm:estimator:limit");
+            }
+            Engine engine = parts[2].endsWith("ms")
+                    ? new Engine(spec, parts[0], parts[1], 0,
+                    Long.parseLong(parts[2].substring(0, parts[2].length() - 2)) * 1_000_000L)
+                    : new Engine(spec, parts[0], parts[1], Integer.parseInt(parts[2]), 0);
+            if (engine.estimator.startsWith("weights=")) {
+                try {
+                    engine.weights = ParameterizedEstimator.load(Paths.get(engine.estimator.substring("weights=".length())));
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Cannot read weights file of engine '" + spec + "'", e);
+                }
+            }
+            engine.create();  // Validate names up front
+            return engine;
+        }
+
+        /**
+         * @return New search instance for one game
+         */
+        SearchAlgorithm create() {
+            StaticEstimator staticEstimator;
+            switch (weights != null ? "weights" : estimator) {
+                case "basic":
+                    staticEstimator = new BasicEstimator();
+                    break;
+                case "improved":
+                    staticEstimator = new ImprovedEstimator();
+                    break;
+                case "weights":
+                    staticEstimator = weights;  // Immutable, shared by all games
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid estimator: " + estimator
+                            + ". Valid values: basic, improved, weights=<file>");
+            }
+            switch (algorithm) {
+                case "alphabeta":
+                    return new AlphaBetaAlgorithm(staticEstimator);
+                case "minimax":
+                    return new MiniMaxAlgorithm(staticEstimator);
+                case "mcts":
+                    return new MonteCarloTreeSearch(staticEstimator);  // Games already run in parallel
+                default:
+                    throw new IllegalArgumentException("Invalid algorithm: " + algorithm
+                            + ". Valid values: alphabeta, minimax, mcts");
+            }
+        }
+
+        /**
+         * Chooses a move within the engine's limit. Time-limited engines deepen iteratively and keep the
+         * deepest completed iteration; positions evaluated cover completed iterations only.
+         */
+        Result move(SearchAlgorithm search, Board board, Player player) {
+            if (search instanceof MonteCarloTreeSearch) {
+                // Anytime search: one call within the time, or the playout budget
+                return moveNanos == 0
+                        ? ((MonteCarloTreeSearch) search).search(board, player, depth, null)
+                        : ((MonteCarloTreeSearch) search).search(board, player, Long.MAX_VALUE, new SearchControl(moveNanos));
+            }
+            if (moveNanos == 0) return search.computeBestMove(board, depth, player);
+
+            SearchControl control = new SearchControl(moveNanos);
+            Result result = search.computeBestMove(board, 1, player);
+            long evaluated = result.getPositionsEvaluated();
+            for (int d = 2; d <= MAX_ITERATIVE_DEPTH && !control.isStopped(); d++) {
+                try {
+                    result = search.computeBestMove(board, d, player, control);
+                    evaluated += result.getPositionsEvaluated();
+                } catch (CancellationException e) {
+                    break;
+                }
+            }
+            return new Result(result.getEstimate(), result.getBestBoard(), evaluated);
+        }
+    }
+
+    /**
+     * Outcome and per-engine effort of one game
+     */
+    private static final class Game {
+        final boolean aIsWhite;
+        int outcome;  // +1 White won, -1 Black won, 0 draw
+        final long[] moves = new long[2];  // Indexed 0 = White, 1 = Black
+        final long[] evaluated = new long[2];
+        final long[] nanos = new long[2];
+        long[] positions = new long[64];  // Packed with side to move, searched positions only
+        int positionCount;
+
+        private Game(boolean aIsWhite) {
+            this.aIsWhite = aIsWhite;
+        }
+
+        void record(Board board, Player player) {
+            if (positionCount == positions.length) positions = Arrays.copyOf(positions, positionCount * 2);
+            positions[positionCount++] = PackedBoard.pack(board, player);
+        }
+
+        /**
+         * Writes the positions of the game labelled with its outcome
+         */
+        void dump(CorpusWriter writer) throws IOException {
+            int result = outcome > 0 ? PackedBoard.RESULT_WHITE_WIN
+                    : outcome < 0 ? PackedBoard.RESULT_BLACK_WIN : PackedBoard.RESULT_DRAW;
+            for (int i = 0; i < positionCount; i++) {
+                writer.add(PackedBoard.withResult(positions[i], result));
+            }
+        }
+
+        static Game play(Board board, Engine white, Engine black, boolean aIsWhite, long openingSeed,
+                         int randomPlies, int maxPlies) {
+            Game game = new Game(aIsWhite);
+            SearchAlgorithm whiteSearch = white.create();
+            SearchAlgorithm blackSearch = black.create();
+            Player player = Player.WHITE;
+
+            // Randomised opening, identical for both games of a pair
+            Random random = new Random(openingSeed);
+            for (int i = 0; i < randomPlies && !board.isTerminal(); i++) {
+                List<Board> moves = player == Player.WHITE ? board.generateWhiteMoves() : board.generateBlackMoves();
+                if (moves.isEmpty()) break;
+                board = moves.get(random.nextInt(moves.size()));
+                player = player.opposite();
+            }
+
+            PositionHistory history = new PositionHistory();
+            history.push(board, player);
+            for (int ply = 0; ply < maxPlies; ply++) {
+                if (board.isWhiteWin()) {
+                    game.outcome = 1;
+                    return game;
+                }
+                if (board.isBlackWin()) {
+                    game.outcome = -1;
+                    return game;
+                }
+                int side = player == Player.WHITE ? 0 : 1;
+                game.record(board, player);
+                long start = System.nanoTime();
+                Result result = player == Player.WHITE
+                        ? white.move(whiteSearch, board, player)
+                        : black.move(blackSearch, board, player);
+                game.nanos[side] += System.nanoTime() - start;
+                game.moves[side]++;
+                game.evaluated[side] += result.getPositionsEvaluated();
+                if (result.getBestBoard() == null) break;
+
+                board = result.getBestBoard();
+                player = player.opposite();
+                history.push(board, player);
+                if (history.count(PositionHistory.key(board, player)) >= 3) break;  // Threefold repetition
+            }
+            game.outcome = board.isWhiteWin() ? 1 : board.isBlackWin() ? -1 : 0;
+            return game;
+        }
+    }
+
+    /**
+     * Aggregated results from engine A's point of view
+     */
+    private static final class Score {
+        long wins, draws, losses;
+        final long[] moves = new long[2];  // Indexed 0 = A, 1 = B
+        final long[] evaluated = new long[2];
+        final long[] nanos = new long[2];
+
+        void add(Game game) {
+            int aOutcome = game.aIsWhite ? game.outcome : -game.outcome;
+            if (aOutcome > 0) wins++;
+            else if (aOutcome < 0) losses++;
+            else draws++;
+            int aSide = game.aIsWhite ? 0 : 1;
+            for (int side = 0; side < 2; side++) {
+                int engine = side == aSide ? 0 : 1;
+                moves[engine] += game.moves[side];
+                evaluated[engine] += game.evaluated[side];
+                nanos[engine] += game.nanos[side];
+            }
+        }
+
+        void print(Engine a, Engine b, int games, int threads, long wallNanos) {
+            double n = Math.max(games, 1);
+            double score = (wins + 0.5 * draws) / n;
+            // Standard deviation of the per-game score (1, 0.5 or 0)
+            double variance = (wins * Math.pow(1 - score, 2) + draws * Math.pow(0.5 - score, 2)
+                    + losses * Math.pow(score, 2)) / n;
+            double margin = 1.96 * Math.sqrt(variance / n);
+
+            System.out.println("Engine A: " + a.label);
+            System.out.println("Engine B: " + b.label);
+            System.out.printf("Games: %d on %d threads in %.1f s (%.2f games/sec)%n",
+                    games, threads, wallNanos / 1e9, games / (wallNanos / 1e9));
+            System.out.printf("A wins / draws / losses: %d / %d / %d%n", wins, draws, losses);
+            System.out.printf("A score: %.3f +/- %.3f (95%%), Elo difference: %+.0f [%+.0f, %+.0f]%n",
+                    score, margin, elo(score), elo(score - margin), elo(score + margin));
+            for (int engine = 0; engine < 2; engine++) {
+                long m = Math.max(moves[engine], 1);
+                System.out.printf("%s: %d moves, %.0f positions evaluated/move, %.3f ms/move%n",
+                        engine == 0 ? "A" : "B", moves[engine], (double) evaluated[engine] / m, nanos[engine] / 1e6 / m);
+            }
+        }
+
+        /**
+         * @return Elo difference implied by an expected score, clamped away from 0 and 1
+         */
+        private static double elo(double score) {
+            double s = Math.min(Math.max(score, 1e-3), 1 - 1e-3);
+            return 400 * Math.log10(s / (1 - s));
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package models;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Implements the Alpha-Beta pruning algorithm for optimal move selection in Jumpy3.
@@ -13,12 +16,42 @@ import java.util.List;
  * <ul>
  *   <li>Depth-limited search with configurable one turn by one</li>
  *   <li>Alpha-beta window pruning</li>
+ *   <li>Optional aspiration windows around the previous iteration's estimate</li>
+ *   <li>Optional selective search: late move reductions and futility pruning of quiet moves</li>
+ *   <li>Optional quiescence search over capturing jumps at the depth limit</li>
+ *   <li>Optional repetition detection against the search path and game history</li>
+ *   <li>Optional shared {@link TranspositionTable} for estimate reuse and best-move ordering</li>
+ *   <li>Cooperative cancellation through a {@link SearchControl}</li>
+ *   <li>Optional {@link OpeningBook} consulted before searching</li>
+ *   <li>Multi-PV analysis ranking the best root moves in one search</li>
  *   <li>Player-specific move generation</li>
  *   <li>Terminal state detection</li>
+ *   <li>{@link SearchMetrics} and JDK Flight Recorder {@link SearchEvent}s with sampled node and evaluation events</li>
+ *   <li>Optional per-ply {@link SearchStats} instrumentation including cutoff counts</li>
  * </ul>
  */
-public class AlphaBetaAlgorithm {
+public class AlphaBetaAlgorithm implements SearchAlgorithm {
+    /**
+     * Estimate assigned to a repeated position (a cycle neither side can profitably break)
+     */
+    public static final int DRAW_ESTIMATE = 0;
+
+    /**
+     * Size (as a power of two) of the table a multi-PV search uses when none is attached: 2^18 entries (4 MiB)
+     */
+    public static final int MULTI_PV_TABLE_BITS = 18;
+
     private final StaticEstimator estimator;
+    private boolean collectStats;
+    private int aspirationWindow;
+    private int lateMoveIndex;
+    private int lateMoveReduction;
+    private int futilityMargin;
+    private int quiescenceDepth;
+    private boolean repetitionDetection;
+    private TranspositionTable table;
+    private OpeningBook openingBook;
+    private SearchTrace trace;
 
     /**
      * Creates an Alpha-Beta solver with a specific evaluation strategy
@@ -37,15 +70,481 @@ public class AlphaBetaAlgorithm {
      * @param player WHITE (maximizing) or BLACK (minimizing)
      * @return Result containing best move, estimate, and evaluation metrics
      */
+    @Override
     public Result computeBestMove(Board board, int depth, Player player) {
-        return alphaBeta(
-                board,
-                depth,
-                Integer.MIN_VALUE,  // Initial alpha
-                Integer.MAX_VALUE,  // Initial beta
-                player == Player.WHITE,  // Maximizing flag
-                player
-        );
+        return search(board, depth, player, repetitionDetection ? new PositionHistory() : null, null);
+    }
+
+    /**
+     * Searches a position reached in a game. Positions repeating the game history or the search
+     * path are scored as {@link #DRAW_ESTIMATE}, regardless of {@link #setRepetitionDetection(boolean)}.
+     *
+     * @param board       Current board state
+     * @param depth       Search depth
+     * @param player      WHITE (maximizing) or BLACK (minimizing)
+     * @param gameHistory Positions played so far, with the player to move on each; not modified
+     * @return Result containing best move, estimate, and evaluation metrics
+     */
+    public Result computeBestMove(Board board, int depth, Player player, PositionHistory gameHistory) {
+        return search(board, depth, player, new PositionHistory(gameHistory), null);
+    }
+
+    @Override
+    public Result computeBestMove(Board board, int depth, Player player, SearchControl control) {
+        return computeBestMove(board, depth, player, null, control);
+    }
+
+    @Override
+    public StaticEstimator getEstimator() {
+        return estimator;
+    }
+
+    /**
+     * Searches a position with a stop signal, e.g. on a background thread
+     *
+     * @param board       Current board state
+     * @param depth       Search depth
+     * @param player      WHITE (maximizing) or BLACK (minimizing)
+     * @param gameHistory Positions played so far (see {@link #computeBestMove(Board, int, Player, PositionHistory)}),
+     *                    or null to search as {@link #computeBestMove(Board, int, Player)} does
+     * @param control     Stop signal polled during the search
+     * @return Result containing best move, estimate, and evaluation metrics
+     * @throws java.util.concurrent.CancellationException If the search was stopped before it completed
+     */
+    public Result computeBestMove(Board board, int depth, Player player, PositionHistory gameHistory,
+                                  SearchControl control) {
+        PositionHistory path = gameHistory != null ? new PositionHistory(gameHistory)
+                : repetitionDetection ? new PositionHistory() : null;
+        return search(board, depth, player, path, control);
+    }
+
+    private Result search(Board board, int depth, Player player, PositionHistory path, SearchControl control) {
+        SearchContext context = new SearchContext(ProblemType.ALPHA_BETA, estimator, board, depth, player,
+                collectStats, path, table(), control);
+        context.trace = trace;
+        context.begin();
+        Result result;
+        try {
+            Result book = bookResult(board, depth, player, context);
+            if (book != null) return context.finish(book);
+            result = aspirationWindow > 0 && depth > 1
+                    ? aspirationSearch(board, depth, player, context)
+                    : searchRoot(
+                    board,
+                    depth,
+                    Integer.MIN_VALUE,  // Initial alpha
+                    Integer.MAX_VALUE,  // Initial beta
+                    player,
+                    context
+            );
+        } catch (RuntimeException | Error e) {
+            context.abort();
+            throw e;
+        }
+        return context.finish(result);
+    }
+
+    /**
+     * Searches a position within a window, for callers combining searches of subtrees (see
+     * {@link DistributedSearch}). Selective options apply; aspiration windows and the root book lookup do not.
+     *
+     * @param board   Current board state
+     * @param depth   Search depth
+     * @param player  Player to move
+     * @param alpha   Lower bound: an estimate at or below it only proves the position is no better
+     * @param beta    Upper bound: an estimate at or above it only proves the position is no worse
+     * @param control Stop signal, or null
+     * @return Result whose estimate is exact when strictly inside the window
+     * @throws java.util.concurrent.CancellationException If the search was stopped before it completed
+     */
+    Result computeWindow(Board board, int depth, Player player, int alpha, int beta, SearchControl control) {
+        SearchContext context = new SearchContext(ProblemType.ALPHA_BETA, estimator, board, depth, player,
+                collectStats, repetitionDetection ? new PositionHistory() : null, table(), control);
+        context.trace = trace;
+        context.begin();
+        Result result;
+        try {
+            result = searchRoot(board, depth, alpha, beta, player, context);
+        } catch (RuntimeException | Error e) {
+            context.abort();
+            throw e;
+        }
+        return context.finish(result);
+    }
+
+    /**
+     * Ranks the best root moves with their estimates in one search (multi-PV analysis)
+     *
+     * @param board  Position to analyse
+     * @param depth  Search depth, at least 1
+     * @param player Player to move
+     * @param lines  Number of moves to rank; 0 or more than the number of moves ranks them all
+     * @return Ranked lines, best first
+     * @see #computeMultiPv(Board, int, Player, int, SearchControl)
+     */
+    public MultiPvResult computeMultiPv(Board board, int depth, Player player, int lines) {
+        return computeMultiPv(board, depth, player, lines, null);
+    }
+
+    /**
+     * Ranks the best root moves with their estimates in one search (multi-PV analysis).
+     * <p>
+     * The search deepens iteratively. At each depth, line j searches the root with a full window over the
+     * moves not yet ranked at that depth, so its best move gets an exact estimate while the others only
+     * need bounds. Moves are tried in the previous depth's ranking. Every line and depth shares one
+     * transposition table: the attached one, or a private table of 2^{@value #MULTI_PV_TABLE_BITS}
+     * entries. Of equal moves, the first in generation order ranks first, so the best line can differ
+     * from {@link #computeBestMove(Board, int, Player)} on ties. Estimates are exact for the configured
+     * search: selective options apply inside the tree, and as in any search with a table, an entry searched
+     * deeper than needed stands in for its subtree.
+     * </p>
+     *
+     * @param board   Position to analyse
+     * @param depth   Search depth, at least 1
+     * @param player  Player to move
+     * @param lines   Number of moves to rank; 0 or more than the number of moves ranks them all
+     * @param control Stop signal, or null
+     * @return Ranked lines, best first; each line's positions evaluated covers its searches at the final depth
+     * @throws java.util.concurrent.CancellationException If the search was stopped before it completed
+     */
+    public MultiPvResult computeMultiPv(Board board, int depth, Player player, int lines, SearchControl control) {
+        if (depth < 1) throw new IllegalArgumentException("Multi-PV depth must be at least 1");
+        TranspositionTable lineTable = table != null ? table() : new HeapTranspositionTable(MULTI_PV_TABLE_BITS);
+        SearchContext context = new SearchContext(ProblemType.ALPHA_BETA, estimator, board, depth, player,
+                collectStats, repetitionDetection ? new PositionHistory() : null, lineTable, control);
+        context.trace = trace;
+        context.begin();
+        try {
+            List<Board> moves = board.isTerminal() ? new ArrayList<>()
+                    : player == Player.WHITE ? board.generateWhiteMoves() : board.generateBlackMoves();
+            if (moves.isEmpty()) {
+                int estimate = evaluate(board, context);
+                if (trace != null) traceRoot(board, depth, player, estimate);
+                Result root = context.finish(new Result(estimate, null, 1));
+                return new MultiPvResult(new ArrayList<>(), 1, root.getStats());
+            }
+
+            boolean isMaximizing = player == Player.WHITE;
+            int count = lines <= 0 ? moves.size() : Math.min(lines, moves.size());
+            int[] order = new int[moves.size()];  // Move indexes, previous ranking first
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            int[] ranked = new int[count];
+            int[] estimates = new int[count];
+            long[] lineEvaluated = new long[count];
+            List<List<Board>> linePvs = new ArrayList<>(Collections.nCopies(count, null));
+            long totalEval = 0;
+            if (context.path != null) context.path.push(PositionHistory.key(board, player));
+
+            for (int iteration = 1; iteration <= depth; iteration++) {
+                boolean[] done = new boolean[moves.size()];
+                for (int line = 0; line < count; line++) {
+                    int alpha = Integer.MIN_VALUE, beta = Integer.MAX_VALUE;
+                    int bestIndex = -1;
+                    int bestEstimate = 0;
+                    long evaluated = 0;
+                    for (int index : order) {
+                        if (done[index]) continue;
+                        long before = context.evaluated;
+                        int estimate = alphaBeta(moves.get(index), iteration - 1, alpha, beta,
+                                !isMaximizing, player.opposite(), context, 1);
+                        evaluated += context.evaluated - before;
+                        // Strict comparison: a later move equal to the window bound may only be an upper/lower bound
+                        if (bestIndex < 0 || (isMaximizing ? estimate > bestEstimate : estimate < bestEstimate)) {
+                            bestIndex = index;
+                            bestEstimate = estimate;
+                            context.pvUpdate(0, moves.get(index));
+                            if (isMaximizing) alpha = estimate;
+                            else beta = estimate;
+                        }
+                    }
+                    done[bestIndex] = true;
+                    ranked[line] = bestIndex;
+                    estimates[line] = bestEstimate;
+                    lineEvaluated[line] = evaluated;
+                    linePvs.set(line, context.principalVariation());
+                    totalEval += evaluated;
+                }
+
+                // Next depth tries the ranked moves first, then the others in their previous order
+                int[] next = new int[order.length];
+                System.arraycopy(ranked, 0, next, 0, count);
+                int n = count;
+                for (int index : order) {
+                    if (!done[index]) next[n++] = index;
+                }
+                order = next;
+            }
+            if (context.path != null) context.path.pop();
+
+            List<Result> ranking = new ArrayList<>(count);
+            for (int line = 0; line < count; line++) {
+                ranking.add(new Result(estimates[line], moves.get(ranked[line]), lineEvaluated[line], null,
+                        linePvs.get(line)));
+            }
+            if (trace != null) traceRoot(board, depth, player, estimates[0]);
+            Result best = context.finish(new Result(estimates[0], moves.get(ranked[0]), totalEval, null,
+                    linePvs.get(0)));
+            return new MultiPvResult(ranking, totalEval, best.getStats());
+        } catch (RuntimeException | Error e) {
+            context.abort();
+            throw e;
+        }
+    }
+
+    /**
+     * Enables per-ply node, leaf, terminal and cutoff counters for subsequent searches.
+     * Disabled by default, in which case the kernel performs no counter updates.
+     *
+     * @param collectStats True to fill {@link SearchStats} per-ply counters
+     */
+    public void setCollectStats(boolean collectStats) {
+        this.collectStats = collectStats;
+    }
+
+    /**
+     * Enables aspiration mode: the search deepens iteratively from depth 1, and each iteration
+     * starts with the window [previous - window, previous + window] around the previous depth's
+     * estimate. A fail-low or fail-high doubles the failing side of the window and re-searches;
+     * re-searches are reported by {@link SearchStats#getResearches()}.
+     *
+     * @param aspirationWindow Initial half-width of the window; 0 (default) searches with a full window
+     */
+    public void setAspirationWindow(int aspirationWindow) {
+        if (aspirationWindow < 0) {
+            throw new IllegalArgumentException("Aspiration window must not be negative");
+        }
+        this.aspirationWindow = aspirationWindow;
+    }
+
+    /**
+     * Enables late move reductions. Quiet (non-capturing, not game-ending) moves from the given index onward are
+     * first searched {@code reduction} plies shallower; a reduced move whose estimate beats the
+     * current window is re-searched at full depth. Reductions never drop a subtree below depth 1.
+     * Selective: results may differ from a full-width search.
+     *
+     * @param fromMove  Zero-based index of the first move eligible for reduction; 0 disables reductions
+     * @param reduction Plies to reduce by (at least 1 when enabled)
+     */
+    public void setLateMoveReduction(int fromMove, int reduction) {
+        if (fromMove < 0 || (fromMove > 0 && reduction < 1)) {
+            throw new IllegalArgumentException("Late move reduction requires fromMove >= 0 and reduction >= 1");
+        }
+        this.lateMoveIndex = fromMove;
+        this.lateMoveReduction = reduction;
+    }
+
+    /**
+     * Enables futility pruning at frontier nodes (one ply above the depth limit). Quiet moves after
+     * the first, neither captures nor king exits, are skipped when the node's static estimate plus the margin cannot reach alpha
+     * (or, for Black, minus the margin cannot reach beta). The static estimate counts as one
+     * evaluated position. Selective: results may differ from a full-width search.
+     *
+     * @param margin Largest gain expected from a quiet move; 0 disables futility pruning
+     */
+    public void setFutilityMargin(int margin) {
+        if (margin < 0) {
+            throw new IllegalArgumentException("Futility margin must not be negative");
+        }
+        this.futilityMargin = margin;
+    }
+
+    /**
+     * Enables quiescence search. Instead of evaluating a position at the depth limit, the search
+     * keeps following capturing jumps only, up to {@code maxPlies} extra plies, until the position
+     * is quiet. The side to move may always "stand pat" on the static estimate, which also bounds
+     * the window (stand-pat pruning). Every static estimate counts as one evaluated position.
+     *
+     * @param maxPlies Maximum capture plies beyond the depth limit; 0 (default) disables quiescence
+     */
+    public void setQuiescence(int maxPlies) {
+        if (maxPlies < 0) {
+            throw new IllegalArgumentException("Quiescence depth must not be negative");
+        }
+        this.quiescenceDepth = maxPlies;
+    }
+
+    /**
+     * Enables repetition detection for {@link #computeBestMove(Board, int, Player)}: a position that
+     * already occurs on the current search path with the same player to move is scored as
+     * {@link #DRAW_ESTIMATE} instead of being searched again. This bounds the tree in lines where
+     * captures send pieces back and the game cycles. Lookups are O(1) (see {@link PositionHistory}).
+     *
+     * @param repetitionDetection True to detect repetitions along the search path
+     */
+    public void setRepetitionDetection(boolean repetitionDetection) {
+        this.repetitionDetection = repetitionDetection;
+    }
+
+    /**
+     * Attaches a transposition table used by subsequent searches. Before searching a node, the
+     * table is probed: an entry searched at least as deep returns its estimate directly when its
+     * bound allows it, and any entry's best move is searched first. Every searched node stores its
+     * result. The table may be shared by concurrent searches and kept between the moves of a game
+     * (see {@link GameSession}); it must only hold entries from searches with the same estimator and
+     * options. Move reordering can change which of several equally good moves is returned. Nodes whose
+     * estimate depends on a repetition draw are not stored.
+     *
+     * @param table Table to use, or null (default) to search without one; a {@link MappedTranspositionTable}
+     *              must have been opened with this algorithm's estimator and {@link #optionsIdentity()}
+     */
+    public void setTranspositionTable(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Identifies the options that change the estimates a search stores in its transposition table (late move
+     * reductions, futility pruning, quiescence and repetition detection), so table files written with other
+     * options are rebuilt rather than shared
+     *
+     * @return Identifier of the current options
+     */
+    public int optionsIdentity() {
+        return Objects.hash(lateMoveIndex, lateMoveIndex > 0 ? lateMoveReduction : 0, futilityMargin,
+                quiescenceDepth, repetitionDetection);
+    }
+
+    /**
+     * @return Attached table, checked against the estimator and options if it is a table file
+     * @throws IllegalStateException If the table file was opened for another estimator or other options
+     */
+    private TranspositionTable table() {
+        if (table instanceof MappedTranspositionTable
+                && !((MappedTranspositionTable) table).matches(estimator, optionsIdentity())) {
+            throw new IllegalStateException("Transposition table file was opened for a different estimator or "
+                    + "different search options");
+        }
+        return table;
+    }
+
+    /**
+     * Attaches an opening book consulted by subsequent searches. A root position found in the book
+     * with an entry searched at least as deep as requested is answered with the book move and estimate
+     * without searching; inside the tree, book positions return their estimates the same way. Book
+     * estimates come from deeper searches, so results can differ from (and improve on) a plain search.
+     *
+     * @param openingBook Book built with this algorithm's estimator, or null (default) for none
+     * @throws IllegalArgumentException If the book was built with a different estimator
+     */
+    public void setOpeningBook(OpeningBook openingBook) {
+        if (openingBook != null && !openingBook.matches(estimator)) {
+            throw new IllegalArgumentException("Opening book was built with a different estimator than "
+                    + estimator.getClass().getSimpleName());
+        }
+        this.openingBook = openingBook;
+    }
+
+    /**
+     * Records every node of subsequent searches, quiescence nodes included, to a trace. Multi-PV analysis
+     * records its root once, after its last line, with every root move search of every depth as children.
+     *
+     * @param trace Trace opened with this algorithm's estimator, or null (default) to record nothing
+     * @throws IllegalArgumentException If the trace was opened with a different estimator
+     */
+    public void setTrace(SearchTrace trace) {
+        if (trace != null && !trace.matches(estimator)) {
+            throw new IllegalArgumentException("Search trace was opened with a different estimator than "
+                    + estimator.getClass().getSimpleName());
+        }
+        this.trace = trace;
+    }
+
+    /**
+     * @return Attached transposition table, or null
+     */
+    public TranspositionTable getTranspositionTable() {
+        return table;
+    }
+
+    /**
+     * Iterative deepening with aspiration windows.
+     * Positions evaluated include every iteration and re-search. Each iteration, re-searches included,
+     * first follows the principal variation of the previous completed iteration, so the line expected to
+     * be best is searched first and narrows the window for the rest of the tree.
+     *
+     * @param board   Root board state
+     * @param depth   Final search depth (greater than 1)
+     * @param player  Player to move at the root
+     * @param context Per-search state
+     * @return Result of the final, exact-window iteration
+     */
+    private Result aspirationSearch(Board board, int depth, Player player, SearchContext context) {
+        Result result = searchRoot(board, 1, Integer.MIN_VALUE, Integer.MAX_VALUE, player, context);
+        long totalEval = result.getPositionsEvaluated();
+        context.seedPv();
+
+        for (int iteration = 2; iteration <= depth; iteration++) {
+            int previous = result.getEstimate();
+            long below = aspirationWindow;
+            long above = aspirationWindow;
+            while (true) {
+                int alpha = clamp(previous - below);
+                int beta = clamp(previous + above);
+                context.followPv = true;
+                Result attempt = searchRoot(board, iteration, alpha, beta, player, context);
+                totalEval += attempt.getPositionsEvaluated();
+
+                // Fail-low or fail-high: the estimate is only a bound, widen that side and re-search
+                if (attempt.getEstimate() <= alpha && alpha != Integer.MIN_VALUE) {
+                    below *= 2;
+                } else if (attempt.getEstimate() >= beta && beta != Integer.MAX_VALUE) {
+                    above *= 2;
+                } else {
+                    result = attempt;
+                    context.seedPv();
+                    break;
+                }
+                context.stats.research();
+            }
+        }
+        return new Result(result.getEstimate(), result.getBestBoard(), totalEval);
+    }
+
+    /**
+     * @return Book move and estimate for the root position if the book covers the requested depth, otherwise null
+     */
+    private Result bookResult(Board board, int depth, Player player, SearchContext context) {
+        if (openingBook == null || depth < 1) return null;
+        long entry = openingBook.probe(PositionHistory.key(board, player));
+        if (entry == 0 || TranspositionTable.depth(entry) < depth) return null;
+        Board move = openingBook.lookup(board, player);
+        if (move == null) return null;
+        context.stats.bookHit();
+        return new Result(TranspositionTable.estimate(entry), move, 0, null, List.of(move));
+    }
+
+    /**
+     * Records the root of a multi-PV analysis, whose root move searches start at ply 1
+     */
+    private void traceRoot(Board board, int depth, Player player, int estimate) {
+        trace.node(board, player, 0, depth, Integer.MIN_VALUE, Integer.MAX_VALUE, estimate,
+                player == Player.WHITE, false);
+    }
+
+    /**
+     * @return Window bound clamped to the int range, saturating at the full-window sentinels
+     */
+    private static int clamp(long bound) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, bound));
+    }
+
+    /**
+     * Searches the root and wraps its score in the only {@link Result} of the search: below the root the
+     * kernel returns primitive scores, counts evaluations in {@link SearchContext#evaluated} and reports
+     * the root's best move through {@link SearchContext#rootMove}.
+     *
+     * @param board   Root board state
+     * @param depth   Search depth
+     * @param alpha   Lower window bound
+     * @param beta    Upper window bound
+     * @param player  Player to move
+     * @param context Per-search state
+     * @return Estimate, best move and positions evaluated by this root search
+     */
+    private Result searchRoot(Board board, int depth, int alpha, int beta, Player player, SearchContext context) {
+        long before = context.evaluated;
+        context.rootMove = null;
+        int estimate = alphaBeta(board, depth, alpha, beta, player == Player.WHITE, player, context, 0);
+        return new Result(estimate, context.rootMove, context.evaluated - before);
     }
 
     /**
@@ -57,26 +556,90 @@ public class AlphaBetaAlgorithm {
      * @param beta          Best already explored value for minimizer
      * @param isMaximizing  True for White's turn, false for Black's
      * @param currentPlayer Player making the current move
-     * @return Best result for current search subtree
+     * @param context       Per-search state (statistics, event sampling)
+     * @param ply           Distance from the root
+     * @return Estimate of the subtree (a bound when at or outside the window)
+     */
+    private int alphaBeta(Board board, int depth, int alpha, int beta,
+                          boolean isMaximizing, Player currentPlayer,
+                          SearchContext context, int ply) {
+        SearchTrace trace = context.trace;
+        if (trace == null) return alphaBetaNode(board, depth, alpha, beta, isMaximizing, currentPlayer, context, ply);
+        int estimate = alphaBetaNode(board, depth, alpha, beta, isMaximizing, currentPlayer, context, ply);
+        trace.node(board, currentPlayer, ply, depth, alpha, beta, estimate, isMaximizing, false);
+        return estimate;
+    }
+
+    /**
+     * Body of {@link #alphaBeta}, which records the node when a {@link SearchTrace} is attached
      */
-    private Result alphaBeta(Board board, int depth, int alpha, int beta,
-                             boolean isMaximizing, Player currentPlayer) {
+    private int alphaBetaNode(Board board, int depth, int alpha, int beta,
+                              boolean isMaximizing, Player currentPlayer,
+                              SearchContext context, int ply) {
+        SearchStats counters = context.counters;
+        context.nodes++;
+        if (counters != null) counters.node(ply);
+        if (context.sampleNodes && context.nodeSampleDue()) NodeEvent.emit(board, ply, depth, alpha, beta);
+        if (context.control != null) context.checkControl();
+        context.pvClear(ply);
+
+        // Repeated position: the line cycles, score it as a draw without searching it again
+        PositionHistory path = context.path;
+        TranspositionTable table = context.table;
+        OpeningBook book = openingBook;
+        long key = path != null || table != null || book != null ? PositionHistory.key(board, currentPlayer) : 0;
+        if (path != null && ply > 0 && path.contains(key)) {
+            if (counters != null) counters.repetition();
+            context.repetitionDraws++;
+            return DRAW_ESTIMATE;
+        }
+
+        // Opening book: positions searched at least this deep offline need no search
+        if (book != null && ply > 0 && depth > 0) {
+            long entry = book.probe(key);
+            if (entry != 0 && TranspositionTable.depth(entry) >= depth) {
+                context.stats.bookHit();
+                return TranspositionTable.estimate(entry);
+            }
+        }
+
+        // Transposition table: reuse a deep enough estimate, otherwise remember the best move to try first
+        int hashMove = -1;
+        if (table != null && depth > 0) {
+            long entry = table.probe(key);
+            context.tableProbes++;
+            if (entry != 0) {
+                context.tableHits++;
+                hashMove = TranspositionTable.bestMove(entry);
+                int estimate = TranspositionTable.estimate(entry);
+                int bound = TranspositionTable.bound(entry);
+                if (ply > 0 && TranspositionTable.depth(entry) >= depth
+                        && (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && estimate >= beta)
+                        || (bound == TranspositionTable.UPPER && estimate <= alpha))) {
+                    if (counters != null) counters.tableCutoff();
+                    return estimate;
+                }
+            }
+        }
+
+        // Depth limit reached with quiescence: resolve pending captures before evaluating
+        if (depth == 0 && quiescenceDepth > 0) {
+            // The body directly: this node is already traced by alphaBeta
+            return quiesceNode(board, alpha, beta, isMaximizing, currentPlayer, context, ply, quiescenceDepth);
+        }
+
         // Base case: leaf node or terminal state
         if (depth == 0) {
-            return new Result(
-                    estimator.estimate(board),
-                    null,  // No move tracking at leaves
-                    1  // Single position evaluated
-            );
+            if (counters != null) counters.leaf(ply);
+            return evaluate(board, context);  // No move tracking at leaves
         }
 
         // Base case: terminal case
         if (board.isTerminal()) {
-            return new Result(
-                    estimator.estimate(board),
-                    board, // Existing board is the best board
-                    1 // Single position evaluated
-            );
+            if (counters != null) counters.terminal(ply);
+            if (ply == 0) context.rootMove = board;  // Existing board is the best board
+            return evaluate(board, context);
         }
 
         // Generate legal moves for current player
@@ -86,51 +649,197 @@ public class AlphaBetaAlgorithm {
 
         // Handle no legal moves situation
         if (moves.isEmpty()) {
-            return new Result(
-                    estimator.estimate(board),
-                    null,
-                    1
-            );
+            if (counters != null) counters.leaf(ply);
+            return evaluate(board, context);
         }
 
         int bestEstimate = isMaximizing
                 ? Integer.MIN_VALUE  // Initialize for maximizer
                 : Integer.MAX_VALUE; // Initialize for minimizer
         Board bestBoard = null;
-        int totalEval = 0;
-
-        // Evaluate moves with pruning
-        for (Board move : moves) {
-            // Recursive search with updated depth and player
-            Result result = alphaBeta(
-                    move,
-                    depth - 1,
-                    alpha,
-                    beta,
-                    !isMaximizing,
-                    currentPlayer.opposite()
-            );
-            totalEval += result.getPositionsEvaluated();
+        int bestIndex = -1;
+        int alphaOrig = alpha, betaOrig = beta;
+        long repetitionDraws = context.repetitionDraws;
+        if (hashMove >= moves.size()) hashMove = -1;
+        if (context.followPv) {
+            // Along the previous iteration's principal variation: its move is searched first
+            int pvMove = context.pvSeedMove(ply, moves);
+            if (hashMove < 0) hashMove = pvMove;
+        }
+
+        // Frontier node: one static estimate decides which quiet moves are futile
+        boolean frontierPruning = futilityMargin > 0 && depth == 1;
+        int staticEstimate = 0;
+        if (frontierPruning) {
+            staticEstimate = evaluate(board, context);
+        }
+
+        if (path != null) path.push(key);
+
+        // Evaluate moves with pruning; i is the search order, index the generation order
+        for (int i = 0; i < moves.size(); i++) {
+            int index = hashMove < 0 ? i : i == 0 ? hashMove : i <= hashMove ? i - 1 : i;
+            Board move = moves.get(index);
+            boolean quiet = !move.isCapture() && !move.isTerminal();  // A king exit ends the game: never futile
+
+            // Futility pruning: a quiet move cannot lift the estimate past the window by more than the margin
+            if (frontierPruning && i > 0 && quiet && (isMaximizing
+                    ? (long) staticEstimate + futilityMargin <= alpha
+                    : (long) staticEstimate - futilityMargin >= beta)) {
+                if (counters != null) counters.futilityPrune();
+                continue;
+            }
+
+            int estimate;
+            if (lateMoveIndex > 0 && i >= lateMoveIndex && quiet && depth - 1 - lateMoveReduction >= 1) {
+                // Late move reduction: search shallower first, verify at full depth if it beats the window
+                estimate = alphaBeta(move, depth - 1 - lateMoveReduction, alpha, beta,
+                        !isMaximizing, currentPlayer.opposite(), context, ply + 1);
+                boolean improves = isMaximizing ? estimate > alpha : estimate < beta;
+                if (counters != null) counters.reduction(improves);
+                if (improves) {
+                    estimate = alphaBeta(move, depth - 1, alpha, beta,
+                            !isMaximizing, currentPlayer.opposite(), context, ply + 1);
+                }
+            } else {
+                // Recursive search with updated depth and player
+                estimate = alphaBeta(
+                        move,
+                        depth - 1,
+                        alpha,
+                        beta,
+                        !isMaximizing,
+                        currentPlayer.opposite(),
+                        context,
+                        ply + 1
+                );
+            }
+            context.followPv = false;  // Only the first child continues along the seeded line
 
-            // Update best value and move
+            // Update best value and move; strictly better only, since a later move that ties the best is only
+            // a bound (it failed at the window the best move set) and may be worse than its estimate says
             if (isMaximizing) {
-                if (result.getEstimate() >= bestEstimate) {
-                    bestEstimate = result.getEstimate();
+                if (estimate > bestEstimate || bestBoard == null) {
+                    bestEstimate = estimate;
                     bestBoard = move;
+                    bestIndex = index;
+                    context.pvUpdate(ply, move);
                 }
                 alpha = Math.max(alpha, bestEstimate);
             } else {
-                if (result.getEstimate() <= bestEstimate) {
-                    bestEstimate = result.getEstimate();
+                if (estimate < bestEstimate || bestBoard == null) {
+                    bestEstimate = estimate;
                     bestBoard = move;
+                    bestIndex = index;
+                    context.pvUpdate(ply, move);
                 }
                 beta = Math.min(beta, bestEstimate);
             }
 
             // Prune remaining branches if possible
-            if (beta <= alpha) break;
+            if (beta <= alpha) {
+                if (counters != null) counters.cutoff(ply, i == 0);
+                break;
+            }
+        }
+
+        if (path != null) path.pop();
+        // A repetition draw below makes the estimate depend on the path, so it is not valid for transpositions
+        if (table != null && context.repetitionDraws == repetitionDraws) {
+            int bound = bestEstimate <= alphaOrig ? TranspositionTable.UPPER
+                    : bestEstimate >= betaOrig ? TranspositionTable.LOWER
+                    : TranspositionTable.EXACT;
+            table.store(key, TranspositionTable.entry(bestEstimate, depth, bound, bestIndex));
+        }
+        if (ply == 0) context.rootMove = bestBoard;
+        return bestEstimate;
+    }
+
+    /**
+     * Capture-only search below the depth limit with stand-pat pruning
+     *
+     * @param board         Current board state
+     * @param alpha         Best already explored value for maximizer
+     * @param beta          Best already explored value for minimizer
+     * @param isMaximizing  True for White's turn, false for Black's
+     * @param currentPlayer Player making the current move
+     * @param context       Per-search state
+     * @param ply           Distance from the root
+     * @param remaining     Capture plies left
+     * @return Estimate of the quiet position (no best board is tracked below the depth limit)
+     */
+    private int quiesce(Board board, int alpha, int beta, boolean isMaximizing, Player currentPlayer,
+                        SearchContext context, int ply, int remaining) {
+        // Horizon nodes enter quiesceNode directly, already counted by alphaBetaNode
+        context.nodes++;
+        if (context.counters != null) context.counters.node(ply);
+        SearchTrace trace = context.trace;
+        if (trace == null) return quiesceNode(board, alpha, beta, isMaximizing, currentPlayer, context, ply, remaining);
+        int estimate = quiesceNode(board, alpha, beta, isMaximizing, currentPlayer, context, ply, remaining);
+        trace.node(board, currentPlayer, ply, 0, alpha, beta, estimate, isMaximizing, true);
+        return estimate;
+    }
+
+    /**
+     * Body of {@link #quiesce}, which records the node when a {@link SearchTrace} is attached
+     */
+    private int quiesceNode(Board board, int alpha, int beta, boolean isMaximizing, Player currentPlayer,
+                            SearchContext context, int ply, int remaining) {
+        SearchStats counters = context.counters;
+        if (counters != null) counters.quiescenceNode();
+
+        // Stand pat: the side to move may decline every capture
+        int bestEstimate = evaluate(board, context);
+        // Horizon, terminal position, or stand-pat already outside the window
+        if (remaining == 0 || board.isTerminal()
+                || (isMaximizing ? bestEstimate >= beta : bestEstimate <= alpha)) {
+            if (counters != null) counters.leaf(ply);
+            return bestEstimate;
+        }
+        if (isMaximizing) {
+            alpha = Math.max(alpha, bestEstimate);
+        } else {
+            beta = Math.min(beta, bestEstimate);
+        }
+
+        List<Board> captures = currentPlayer == Player.WHITE
+                ? board.generateWhiteCaptures()
+                : board.generateBlackCaptures();
+        if (captures.isEmpty() && counters != null) counters.leaf(ply);
+
+        for (int i = 0; i < captures.size(); i++) {
+            int estimate = quiesce(captures.get(i), alpha, beta, !isMaximizing, currentPlayer.opposite(),
+                    context, ply + 1, remaining - 1);
+
+            if (isMaximizing) {
+                bestEstimate = Math.max(bestEstimate, estimate);
+                alpha = Math.max(alpha, bestEstimate);
+            } else {
+                bestEstimate = Math.min(bestEstimate, estimate);
+                beta = Math.min(beta, bestEstimate);
+            }
+
+            if (beta <= alpha) {
+                if (counters != null) counters.cutoff(ply, i == 0);
+                break;
+            }
         }
+        return bestEstimate;
+    }
 
-        return new Result(bestEstimate, bestBoard, totalEval);
+    /**
+     * Static evaluation of a node, counted in the positions evaluated and recorded as a sampled
+     * {@link EvaluationEvent} when enabled
+     *
+     * @param board   Position to evaluate
+     * @param context Per-search state
+     * @return Estimator value from White's perspective
+     */
+    private int evaluate(Board board, SearchContext context) {
+        context.evaluated++;
+        if (context.sampleEvaluations && context.evaluationSampleDue()) {
+            return EvaluationEvent.evaluate(estimator, board);
+        }
+        return estimator.estimate(board);
     }
-}
\ No newline at end of file
+}
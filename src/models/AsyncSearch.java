@@ -0,0 +1,153 @@
+package models;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * Non-blocking search: iterative deepening on a caller-supplied executor, with a future for the result
+ * and a {@link Flow.Publisher} of {@link SearchProgress} updates.
+ * <p>
+ * Each depth runs as a separate task on the executor, and the next depth is submitted only when the
+ * previous one completes, so many searches interleave on a few threads at iteration granularity. Progress
+ * is delivered on the same executor; a subscriber that falls behind loses updates rather than slowing
+ * the search. Subscribe before {@link #start()} to receive every update.
+ * </p>
+ *
+ * <p>{@link #stop()} ends the search early with the deepest completed iteration, {@link #cancel()} (or
+ * cancelling the future) abandons it. Completing the future from outside, e.g. with {@code orTimeout},
+ * also stops it. Either way the running iteration sees the {@link SearchControl} within
+ * {@link SearchControl#CHECK_INTERVAL} nodes and unwinds.</p>
+ *
+ * <pre>
+ * AsyncSearch search = new AsyncSearch(new AlphaBetaAlgorithm(new BasicEstimator()), board, 14, Player.WHITE, pool);
+ * search.getProgress().subscribe(subscriber);
+ * search.start().orTimeout(2, TimeUnit.SECONDS).thenAccept(result -> play(result.getBestBoard()));
+ * </pre>
+ */
+public final class AsyncSearch {
+    private final SearchAlgorithm algorithm;
+    private final Board board;
+    private final int depth;
+    private final Player player;
+    private final Executor executor;
+    private final SearchControl control = new SearchControl();
+    private final SubmissionPublisher<SearchProgress> progress;
+    private final CompletableFuture<Result> result = new CompletableFuture<>();
+    private volatile boolean cancelled;
+    private boolean started;
+    private long startNanos;
+    private long evaluated;  // Only touched by the iteration tasks, which run one after another
+    private Result best;
+
+    /**
+     * @param algorithm Search run at every depth (not used by other threads meanwhile unless thread-safe)
+     * @param board     Position to search
+     * @param depth     Deepest iteration, at least 1
+     * @param player    Player to move
+     * @param executor  Executor running the iterations and delivering progress
+     */
+    public AsyncSearch(SearchAlgorithm algorithm, Board board, int depth, Player player, Executor executor) {
+        if (depth < 1) throw new IllegalArgumentException("Depth must be at least 1");
+        this.algorithm = algorithm;
+        this.board = board;
+        this.depth = depth;
+        this.player = player;
+        this.executor = executor;
+        this.progress = new SubmissionPublisher<>(executor, Flow.defaultBufferSize());
+        // Any completion stops the running iteration, including a timeout or cancellation from outside
+        result.whenComplete((r, e) -> {
+            if (result.isCancelled()) cancelled = true;
+            control.stop();
+            if (e != null && !(e instanceof CancellationException)) progress.closeExceptionally(e);
+            else progress.close();
+        });
+    }
+
+    /**
+     * Schedules the first iteration
+     *
+     * @return Future completed with the deepest completed iteration (positions evaluated summed over
+     * all iterations), or exceptionally with {@link CancellationException} if cancelled or stopped
+     * before depth 1 completed
+     * @throws IllegalStateException If the search was already started
+     */
+    public synchronized CompletableFuture<Result> start() {
+        if (started) throw new IllegalStateException("Search already started");
+        started = true;
+        startNanos = System.nanoTime();
+        executor.execute(() -> iterate(1));
+        return result;
+    }
+
+    /**
+     * @return Publisher of one update per completed iteration; completes when the search ends
+     */
+    public Flow.Publisher<SearchProgress> getProgress() {
+        return progress;
+    }
+
+    /**
+     * @return Future of the search result (see {@link #start()})
+     */
+    public CompletableFuture<Result> getResult() {
+        return result;
+    }
+
+    /**
+     * Ends the search with the deepest iteration completed so far; safe to call from any thread
+     */
+    public void stop() {
+        control.stop();
+    }
+
+    /**
+     * Abandons the search; the future completes with a {@link CancellationException}
+     */
+    public void cancel() {
+        cancelled = true;
+        control.stop();
+        result.cancel(false);
+    }
+
+    private void iterate(int iteration) {
+        if (result.isDone()) return;
+        try {
+            if (control.isStopped()) throw new CancellationException("Search stopped");
+            Result current = algorithm.computeBestMove(board, iteration, player, control);
+            evaluated += current.getPositionsEvaluated();
+            best = current;
+            publish(new SearchProgress(iteration, current.getBestBoard(), current.getEstimate(), evaluated,
+                    System.nanoTime() - startNanos));
+            if (iteration >= depth || board.isTerminal()) {
+                complete();
+            } else {
+                executor.execute(() -> iterate(iteration + 1));
+            }
+        } catch (CancellationException e) {
+            if (best != null && !cancelled) complete();
+            else result.completeExceptionally(e);
+        } catch (RuntimeException | Error e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Offers an update to the subscribers, dropping it for slow ones, or for all of them once the future
+     * completed from outside (e.g. {@code orTimeout}) closed the publisher
+     */
+    private void publish(SearchProgress update) {
+        if (progress.isClosed()) return;
+        try {
+            progress.offer(update, (subscriber, item) -> false);  // Drop for slow subscribers
+        } catch (IllegalStateException e) {
+            // Closed after the check: the search has ended and nobody receives updates any more
+        }
+    }
+
+    private void complete() {
+        result.complete(new Result(best.getEstimate(), best.getBestBoard(), evaluated, best.getStats()));
+    }
+}
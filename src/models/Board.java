@@ -18,6 +18,7 @@ import java.util.List;
  */
 public class Board {
     private final ArrayList<Piece> positions;
+    private boolean capture;
 
     /**
      * Constructs board from 16-character string representation
@@ -33,10 +34,10 @@ public class Board {
     }
 
     /**
-     * Internal constructor for copy operations
+     * Internal constructor adopting an already built position list (no defensive copy)
      */
-    private Board(ArrayList<Piece> positions) {
-        this.positions = new ArrayList<>(positions);
+    Board(ArrayList<Piece> positions) {
+        this.positions = positions;
     }
 
     /**
@@ -65,11 +66,25 @@ public class Board {
      * </ul>
      */
     public List<Board> generateWhiteMoves() {
+        return generateWhiteMoves(false);
+    }
+
+    /**
+     * Generates only White's capturing jumps (a Black piece jumped and sent to the rightmost empty square)
+     *
+     * @return Capturing moves in the same order as {@link #generateWhiteMoves()}
+     */
+    public List<Board> generateWhiteCaptures() {
+        return generateWhiteMoves(true);
+    }
+
+    private List<Board> generateWhiteMoves(boolean capturesOnly) {
         List<Board> moves = new ArrayList<>();
         for (int i = 0; i < 16; i++) {
             Piece piece = positions.get(i);
             if (piece == Piece.WHITE_KING || piece == Piece.WHITE_PAWN) {
                 if (i == 15) {
+                    if (capturesOnly) continue;
                     Board newBoard = copy();
                     newBoard.positions.set(i, Piece.EMPTY);
                     moves.add(newBoard);
@@ -77,6 +92,7 @@ public class Board {
                 }
 
                 if (positions.get(i + 1) == Piece.EMPTY) {
+                    if (capturesOnly) continue;
                     Board newBoard = copy();
                     newBoard.positions.set(i, Piece.EMPTY);
                     newBoard.positions.set(i + 1, piece);
@@ -102,11 +118,12 @@ public class Board {
                             if (k >= 0) {
                                 newBoard.positions.set(k, jumped);
                                 newBoard.positions.set(i + 1, Piece.EMPTY);
+                                newBoard.capture = true;
                             }
                         }
                     }
                 }
-                moves.add(newBoard);
+                if (!capturesOnly || newBoard.capture) moves.add(newBoard);
             }
         }
         return moves;
@@ -152,15 +169,39 @@ public class Board {
      * @see #flip()
      */
     public List<Board> generateBlackMoves() {
-        Board flipped = flip();
-        List<Board> flippedMoves = flipped.generateWhiteMoves();
+        return flipMoves(flip().generateWhiteMoves());
+    }
+
+    /**
+     * Generates only Black's capturing jumps using flipped perspective
+     *
+     * @see #generateWhiteCaptures()
+     */
+    public List<Board> generateBlackCaptures() {
+        return flipMoves(flip().generateWhiteCaptures());
+    }
+
+    /**
+     * Flips moves generated on a flipped board back to the original perspective
+     */
+    private static List<Board> flipMoves(List<Board> flippedMoves) {
         List<Board> originalMoves = new ArrayList<>();
         for (Board fm : flippedMoves) {
-            originalMoves.add(fm.flip());
+            Board move = fm.flip();
+            move.capture = fm.capture;
+            originalMoves.add(move);
         }
         return originalMoves;
     }
 
+    /**
+     * @return True if this board was generated by a capturing jump (the jumped piece was sent
+     * back to the rightmost empty square). Boards not produced by move generation return false.
+     */
+    public boolean isCapture() {
+        return capture;
+    }
+
     /**
      * @return True if White king has exited the board
      */
@@ -0,0 +1,137 @@
+package models;
+
+/**
+ * Size of a Jumpy3 variant: the number of squares and the pawns each side starts with.
+ * <p>
+ * The standard game ({@link #STANDARD}) has 16 squares and 3 pawns per side and is played with {@link Board};
+ * other geometries are played with {@link WideBoard}. Each side always has one king. Immutable.
+ * </p>
+ *
+ * <pre>
+ * BoardGeometry geometry = new BoardGeometry(24, 3);
+ * geometry.startPosition();  // "Wwww", 16 empty squares, "bbbB"
+ * </pre>
+ */
+public final class BoardGeometry {
+    /**
+     * The standard 16-square board with 3 pawns per side
+     */
+    public static final BoardGeometry STANDARD = new BoardGeometry(PackedBoard.SQUARES, BoardParser.MAX_PAWNS);
+
+    /**
+     * Smallest supported number of squares
+     */
+    public static final int MIN_SQUARES = 4;
+
+    /**
+     * Largest supported number of squares
+     */
+    public static final int MAX_SQUARES = 4096;
+
+    private final int squares;
+    private final int pawns;
+
+    /**
+     * @param squares Number of squares ({@value #MIN_SQUARES}-{@value #MAX_SQUARES})
+     * @param pawns   Pawns per side; both kings and all pawns must fit on the board
+     * @throws IllegalArgumentException If the geometry is out of range
+     */
+    public BoardGeometry(int squares, int pawns) {
+        if (squares < MIN_SQUARES || squares > MAX_SQUARES) {
+            throw new IllegalArgumentException("Board squares must be between " + MIN_SQUARES + " and " + MAX_SQUARES);
+        }
+        if (pawns < 0 || 2 * (pawns + BoardParser.MAX_KINGS) > squares) {
+            throw new IllegalArgumentException("Invalid pawn count " + pawns + " for " + squares + " squares");
+        }
+        this.squares = squares;
+        this.pawns = pawns;
+    }
+
+    /**
+     * @return Number of squares
+     */
+    public int getSquares() {
+        return squares;
+    }
+
+    /**
+     * @return Pawns per side
+     */
+    public int getPawns() {
+        return pawns;
+    }
+
+    /**
+     * @return 64-bit words per piece plane of a {@link WideBoard}
+     */
+    public int words() {
+        return (squares + 63) >>> 6;
+    }
+
+    /**
+     * @return Start position: White's king on the left edge followed by its pawns, Black's pawns
+     * and king mirrored on the right edge ("WwwwxxxxxxxxbbbB" for the standard geometry)
+     */
+    public String startPosition() {
+        StringBuilder position = new StringBuilder(squares);
+        position.append(Piece.WHITE_KING.getPiece());
+        for (int i = 0; i < pawns; i++) position.append(Piece.WHITE_PAWN.getPiece());
+        for (int i = 2 * (pawns + 1); i < squares; i++) position.append(Piece.EMPTY.getPiece());
+        for (int i = 0; i < pawns; i++) position.append(Piece.BLACK_PAWN.getPiece());
+        position.append(Piece.BLACK_KING.getPiece());
+        return position.toString();
+    }
+
+    /**
+     * Validates a board string against this geometry. Checks run in the same order and, for the standard
+     * geometry, with the same messages as {@link Utils#validateInputString(String)}.
+     *
+     * @param input Board string to validate
+     * @throws IllegalArgumentException If the length, a character, or a piece count is invalid
+     */
+    public void validate(CharSequence input) {
+        if (input.length() != squares) {
+            throw new IllegalArgumentException("Invalid board - Must contain " + squares + " positions");
+        }
+        int whiteKings = 0, blackKings = 0, whitePawns = 0, blackPawns = 0;
+        for (int i = 0; i < squares; i++) {
+            char c = input.charAt(i);
+            if (c == Piece.WHITE_KING.getPiece()) whiteKings++;
+            else if (c == Piece.WHITE_PAWN.getPiece()) whitePawns++;
+            else if (c == Piece.BLACK_KING.getPiece()) blackKings++;
+            else if (c == Piece.BLACK_PAWN.getPiece()) blackPawns++;
+            else if (c != Piece.EMPTY.getPiece()) {
+                throw new IllegalArgumentException("Invalid piece character: '" + c + "'. Valid values: W, w, B, b, x");
+            }
+        }
+        if (whiteKings > BoardParser.MAX_KINGS) {
+            throw new IllegalArgumentException("Invalid White pieces - Maximum " + BoardParser.MAX_KINGS + " king allowed");
+        }
+        if (blackKings > BoardParser.MAX_KINGS) {
+            throw new IllegalArgumentException("Invalid Black pieces - Maximum " + BoardParser.MAX_KINGS + " king allowed");
+        }
+        if (whitePawns > pawns) {
+            throw new IllegalArgumentException("Invalid White pawns - Maximum " + pawns + " allowed");
+        }
+        if (blackPawns > pawns) {
+            throw new IllegalArgumentException("Invalid Black pawns - Maximum " + pawns + " allowed");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof BoardGeometry)) return false;
+        BoardGeometry other = (BoardGeometry) o;
+        return squares == other.squares && pawns == other.pawns;
+    }
+
+    @Override
+    public int hashCode() {
+        return squares * 31 + pawns;
+    }
+
+    @Override
+    public String toString() {
+        return squares + " squares, " + pawns + " pawns";
+    }
+}
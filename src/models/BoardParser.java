@@ -0,0 +1,198 @@
+package models;
+
+import java.util.Arrays;
+
+/**
+ * Table-driven, non-throwing board parser and validator for batch ingestion.
+ * <p>
+ * Parsing makes a single pass over the input using a 128-entry character table and per-piece
+ * counters, packing squares straight into a {@link PackedBoard} value. Failures are reported
+ * through {@link #getError()} and {@link #getErrorPosition()} instead of exceptions, so one parser
+ * instance can be reused across millions of lines without allocating.
+ * </p>
+ *
+ * <p>Instances are mutable and not thread-safe; use one parser per thread.</p>
+ *
+ * <pre>
+ * BoardParser parser = new BoardParser();
+ * if (parser.parse("WwwwxxxxxxxxbbbB")) {
+ *     long packed = parser.getPacked();
+ * } else {
+ *     System.err.println(parser.getErrorMessage() + " at " + parser.getErrorPosition());
+ * }
+ * </pre>
+ */
+public final class BoardParser {
+    /**
+     * Maximum number of kings per colour
+     */
+    public static final int MAX_KINGS = 1;
+
+    /**
+     * Maximum number of pawns per colour
+     */
+    public static final int MAX_PAWNS = 3;
+
+    private static final byte INVALID = -1;
+    private static final byte[] CODES = new byte[128];
+
+    static {
+        Arrays.fill(CODES, INVALID);
+        for (Piece piece : Piece.values()) {
+            CODES[piece.getPiece()] = (byte) PackedBoard.code(piece);
+        }
+    }
+
+    /**
+     * Parse failure categories. Messages match those thrown by {@link Utils#validateInputString(String)}.
+     */
+    public enum ParseError {
+        /**
+         * Input parsed successfully
+         */
+        NONE(null),
+
+        /**
+         * Input is not exactly 16 characters long
+         */
+        LENGTH("Invalid board - Must contain 16 positions"),
+
+        /**
+         * Character outside W/w/B/b/x
+         */
+        INVALID_CHARACTER(null),
+
+        /**
+         * More than one White king
+         */
+        TOO_MANY_WHITE_KINGS("Invalid White pieces - Maximum 1 king allowed"),
+
+        /**
+         * More than one Black king
+         */
+        TOO_MANY_BLACK_KINGS("Invalid Black pieces - Maximum 1 king allowed"),
+
+        /**
+         * More than three White pawns
+         */
+        TOO_MANY_WHITE_PAWNS("Invalid White pawns - Maximum 3 allowed"),
+
+        /**
+         * More than three Black pawns
+         */
+        TOO_MANY_BLACK_PAWNS("Invalid Black pawns - Maximum 3 allowed");
+
+        private final String message;
+
+        ParseError(String message) {
+            this.message = message;
+        }
+    }
+
+    private long packed;
+    private ParseError error = ParseError.NONE;
+    private int errorPosition = -1;
+    private char errorCharacter;
+
+    /**
+     * Parses and validates a 16-character board in one pass
+     *
+     * @param input Board characters (W/w/B/b/x)
+     * @return True if the board is valid; otherwise inspect {@link #getError()}
+     */
+    public boolean parse(CharSequence input) {
+        packed = 0L;
+        error = ParseError.NONE;
+        errorPosition = -1;
+
+        int length = input.length();
+        if (length != PackedBoard.SQUARES) {
+            return fail(ParseError.LENGTH, Math.min(length, PackedBoard.SQUARES));
+        }
+
+        int whiteKings = 0, blackKings = 0, whitePawns = 0, blackPawns = 0;
+        // First square where each limit is exceeded, reported in the validator's priority order
+        int whiteKingError = -1, blackKingError = -1, whitePawnError = -1, blackPawnError = -1;
+        long board = 0L;
+
+        for (int i = 0; i < PackedBoard.SQUARES; i++) {
+            char c = input.charAt(i);
+            int code = c < CODES.length ? CODES[c] : INVALID;
+            switch (code) {
+                case 1:
+                    if (++whiteKings > MAX_KINGS && whiteKingError < 0) whiteKingError = i;
+                    break;
+                case 2:
+                    if (++whitePawns > MAX_PAWNS && whitePawnError < 0) whitePawnError = i;
+                    break;
+                case 3:
+                    if (++blackKings > MAX_KINGS && blackKingError < 0) blackKingError = i;
+                    break;
+                case 4:
+                    if (++blackPawns > MAX_PAWNS && blackPawnError < 0) blackPawnError = i;
+                    break;
+                case INVALID:
+                    errorCharacter = c;
+                    return fail(ParseError.INVALID_CHARACTER, i);
+                default:
+                    break;
+            }
+            board |= (long) code << (i << 2);
+        }
+
+        if (whiteKingError >= 0) return fail(ParseError.TOO_MANY_WHITE_KINGS, whiteKingError);
+        if (blackKingError >= 0) return fail(ParseError.TOO_MANY_BLACK_KINGS, blackKingError);
+        if (whitePawnError >= 0) return fail(ParseError.TOO_MANY_WHITE_PAWNS, whitePawnError);
+        if (blackPawnError >= 0) return fail(ParseError.TOO_MANY_BLACK_PAWNS, blackPawnError);
+
+        packed = board;
+        return true;
+    }
+
+    private boolean fail(ParseError error, int position) {
+        this.error = error;
+        this.errorPosition = position;
+        return false;
+    }
+
+    /**
+     * @return Packed position of the last successful parse
+     */
+    public long getPacked() {
+        return packed;
+    }
+
+    /**
+     * @return Board built directly from the last successful parse
+     */
+    public Board toBoard() {
+        return PackedBoard.toBoard(packed);
+    }
+
+    /**
+     * @return Failure category of the last parse, {@link ParseError#NONE} on success
+     */
+    public ParseError getError() {
+        return error;
+    }
+
+    /**
+     * @return Zero-based character index of the failure, or -1 on success.
+     * For length errors this is the first index past the shorter of input and board.
+     */
+    public int getErrorPosition() {
+        return errorPosition;
+    }
+
+    /**
+     * Builds a human-readable description of the last failure. Only allocates when called.
+     *
+     * @return Error message, or null on success
+     */
+    public String getErrorMessage() {
+        if (error == ParseError.INVALID_CHARACTER) {
+            return "Invalid piece character: '" + errorCharacter + "'. Valid values: W, w, B, b, x";
+        }
+        return error.message;
+    }
+}
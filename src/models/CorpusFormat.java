@@ -0,0 +1,62 @@
+package models;
+
+/**
+ * Layout constants of the binary position corpus format.
+ * <p>
+ * A corpus file is a fixed 24-byte header followed by one 8-byte {@link PackedBoard} value per
+ * position. All multi-byte values are big-endian.
+ * </p>
+ *
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "JMPC"
+ *      4     2  format version
+ *      6     2  flags (FLAG_SIDE_TO_MOVE, FLAG_RESULT)
+ *      8     8  position count
+ *     16     4  CRC32 of the position payload
+ *     20     4  reserved (zero)
+ *     24   8*n  packed positions
+ * </pre>
+ *
+ * @see CorpusWriter
+ * @see CorpusReader
+ */
+public final class CorpusFormat {
+    /**
+     * File magic, the ASCII bytes "JMPC"
+     */
+    public static final int MAGIC = 0x4A4D5043;
+
+    /**
+     * Current format version
+     */
+    public static final short VERSION = 1;
+
+    /**
+     * Header flag: positions carry a meaningful side-to-move bit
+     */
+    public static final short FLAG_SIDE_TO_MOVE = 0x1;
+
+    /**
+     * Header flag: positions carry a game result label ({@link PackedBoard#result(long)})
+     */
+    public static final short FLAG_RESULT = 0x2;
+
+    /**
+     * Size of the fixed header in bytes
+     */
+    public static final int HEADER_SIZE = 24;
+
+    /**
+     * Size of one packed position in bytes
+     */
+    public static final int POSITION_SIZE = 8;
+
+    static final int VERSION_OFFSET = 4;
+    static final int FLAGS_OFFSET = 6;
+    static final int COUNT_OFFSET = 8;
+    static final int CHECKSUM_OFFSET = 16;
+
+    private CorpusFormat() {
+    }
+}
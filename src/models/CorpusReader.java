@@ -0,0 +1,169 @@
+package models;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Memory-mapped, zero-copy reader for binary position corpora.
+ * <p>
+ * The payload is mapped read-only in segments of up to 1 GiB, so corpora larger than 2 GiB are
+ * supported. Positions are returned as primitive {@link PackedBoard} values; iterating a corpus
+ * does not allocate.
+ * </p>
+ *
+ * <pre>
+ * try (CorpusReader reader = new CorpusReader(path)) {
+ *     reader.forEach(packed -> analyse(packed));
+ * }
+ * </pre>
+ *
+ * @see CorpusFormat
+ */
+public class CorpusReader implements Closeable {
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long count;
+    private final boolean sideToMove;
+    private final boolean results;
+    private final int checksum;
+
+    /**
+     * Opens a corpus and verifies its header and checksum
+     *
+     * @param path Corpus file
+     * @throws IOException If the file cannot be read or fails validation
+     */
+    public CorpusReader(Path path) throws IOException {
+        this(path, true);
+    }
+
+    /**
+     * Opens a corpus file
+     *
+     * @param path   Corpus file
+     * @param verify True to verify the payload checksum up front (reads the whole file once)
+     * @throws IOException If the file cannot be read or fails validation
+     */
+    public CorpusReader(Path path, boolean verify) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            if (fileSize < CorpusFormat.HEADER_SIZE) {
+                throw new IOException("Invalid corpus - File shorter than header: " + path);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, CorpusFormat.HEADER_SIZE);
+            if (header.getInt(0) != CorpusFormat.MAGIC) {
+                throw new IOException("Invalid corpus - Bad magic number: " + path);
+            }
+            short version = header.getShort(CorpusFormat.VERSION_OFFSET);
+            if (version != CorpusFormat.VERSION) {
+                throw new IOException("Invalid corpus - Unsupported version " + version + ": " + path);
+            }
+            short flags = header.getShort(CorpusFormat.FLAGS_OFFSET);
+            this.sideToMove = (flags & CorpusFormat.FLAG_SIDE_TO_MOVE) != 0;
+            this.results = (flags & CorpusFormat.FLAG_RESULT) != 0;
+            this.count = header.getLong(CorpusFormat.COUNT_OFFSET);
+            this.checksum = header.getInt(CorpusFormat.CHECKSUM_OFFSET);
+
+            long payloadSize = fileSize - CorpusFormat.HEADER_SIZE;
+            if (count < 0 || payloadSize != count * CorpusFormat.POSITION_SIZE) {
+                throw new IOException("Invalid corpus - Header declares " + count
+                        + " positions but payload holds " + payloadSize + " bytes: " + path);
+            }
+
+            int segmentCount = (int) ((payloadSize + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT);
+            this.segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long offset = (long) i << SEGMENT_SHIFT;
+                long length = Math.min(SEGMENT_SIZE, payloadSize - offset);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        CorpusFormat.HEADER_SIZE + offset, length);
+            }
+
+            if (verify && computeChecksum() != checksum) {
+                throw new IOException("Invalid corpus - Checksum mismatch: " + path);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private int computeChecksum() {
+        CRC32 crc = new CRC32();
+        for (MappedByteBuffer segment : segments) {
+            crc.update(segment.duplicate());
+        }
+        return (int) crc.getValue();
+    }
+
+    /**
+     * @return Number of positions in the corpus
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * @return True if the positions carry a meaningful side-to-move bit
+     */
+    public boolean hasSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * @return True if the positions carry a game result label
+     */
+    public boolean hasResults() {
+        return results;
+    }
+
+    /**
+     * Reads one position directly from the mapped file
+     *
+     * @param index Position index (0 to size() - 1)
+     * @return Packed position
+     * @throws IndexOutOfBoundsException For indexes outside the corpus
+     */
+    public long get(long index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Position " + index + " outside corpus of " + count);
+        }
+        long offset = index * CorpusFormat.POSITION_SIZE;
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getLong((int) (offset & (SEGMENT_SIZE - 1)));
+    }
+
+    /**
+     * Visits every position in file order without allocating
+     *
+     * @param action Consumer receiving each packed position
+     */
+    public void forEach(LongConsumer action) {
+        for (MappedByteBuffer segment : segments) {
+            int limit = segment.limit();
+            for (int offset = 0; offset < limit; offset += CorpusFormat.POSITION_SIZE) {
+                action.accept(segment.getLong(offset));
+            }
+        }
+    }
+
+    /**
+     * Closes the underlying channel. The mapping itself is released by the garbage collector.
+     *
+     * @throws IOException If closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
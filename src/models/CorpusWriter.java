@@ -0,0 +1,120 @@
+package models;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Streams packed positions into a binary corpus file.
+ * <p>
+ * Positions are buffered and written sequentially; the header (count and checksum) is patched
+ * when the writer is closed, so the file is only valid after {@link #close()}.
+ * </p>
+ *
+ * <pre>
+ * try (CorpusWriter writer = new CorpusWriter(path, false)) {
+ *     writer.add(PackedBoard.pack(board));
+ * }
+ * </pre>
+ *
+ * @see CorpusFormat
+ */
+public class CorpusWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CRC32 checksum = new CRC32();
+    private final boolean sideToMove;
+    private final boolean results;
+    private final long keepMask;
+    private long count;
+
+    /**
+     * Creates (or truncates) a corpus file
+     *
+     * @param path       Target file
+     * @param sideToMove True if the positions' side-to-move bit is meaningful
+     * @throws IOException If the file cannot be opened
+     */
+    public CorpusWriter(Path path, boolean sideToMove) throws IOException {
+        this(path, sideToMove, false);
+    }
+
+    /**
+     * Creates (or truncates) a corpus file, optionally labelled with game results
+     *
+     * @param path       Target file
+     * @param sideToMove True if the positions' side-to-move bit is meaningful
+     * @param results    True if the positions' result label is meaningful
+     * @throws IOException If the file cannot be opened
+     */
+    public CorpusWriter(Path path, boolean sideToMove, boolean results) throws IOException {
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        this.sideToMove = sideToMove;
+        this.results = results;
+        this.keepMask = PackedBoard.POSITION_MASK
+                | (sideToMove ? PackedBoard.BLACK_TO_MOVE : 0)
+                | (results ? PackedBoard.RESULT_MASK : 0);
+        channel.position(CorpusFormat.HEADER_SIZE);
+    }
+
+    /**
+     * Appends one packed position
+     *
+     * @param packed Position encoded with {@link PackedBoard}
+     * @throws IOException If flushing the buffer fails
+     */
+    public void add(long packed) throws IOException {
+        packed &= keepMask;
+        if (!buffer.hasRemaining()) flush();
+        buffer.putLong(packed);
+        count++;
+    }
+
+    /**
+     * @return Number of positions written so far
+     */
+    public long getCount() {
+        return count;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        checksum.update(buffer.duplicate());
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Flushes remaining positions and writes the final header
+     *
+     * @throws IOException If writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            ByteBuffer header = ByteBuffer.allocate(CorpusFormat.HEADER_SIZE);
+            header.putInt(CorpusFormat.MAGIC);
+            header.putShort(CorpusFormat.VERSION);
+            header.putShort((short) ((sideToMove ? CorpusFormat.FLAG_SIDE_TO_MOVE : 0)
+                    | (results ? CorpusFormat.FLAG_RESULT : 0)));
+            header.putLong(count);
+            header.putInt((int) checksum.getValue());
+            header.putInt(0);
+            header.flip();
+            channel.position(0);
+            while (header.hasRemaining()) channel.write(header);
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,514 @@
+package models;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Search split across {@link SearchWorker} processes, on one host or many.
+ * <p>
+ * The coordinator expands the tree to the split depth (the root moves, or by default the replies to them)
+ * and sends every subtree below as a job to the workers. Each worker connection pulls the next job from a
+ * shared queue when it is idle, so fast workers take more jobs. When a connection fails mid-job, the job
+ * goes back to the front of the queue for another connection, and the failed one reconnects up to
+ * {@link #setRetries(int)} times before its worker is given up. The search fails when every connection is
+ * lost, a job fails on a worker, or a worker rejects the search because it runs another estimator.
+ * </p>
+ *
+ * <p>MiniMax jobs search their full subtree, and their results merge in generation order with
+ * {@link MiniMaxAlgorithm}'s tie rule, so the result (move, estimate and positions evaluated) is identical
+ * to a local search. Alpha-Beta jobs follow young brothers wait: the first root move is searched before
+ * the others, whose jobs then get the best estimate so far as a window bound when they are dispatched.
+ * A reply already at that bound refutes its root move, and the move's remaining jobs are skipped. The
+ * estimate matches {@link AlphaBetaAlgorithm}, but positions evaluated depend on job timing. Of equal
+ * moves, the first one proven best in generation order is returned, which can differ from the local
+ * search's choice.</p>
+ *
+ * <pre>
+ * DistributedSearch search = new DistributedSearch(new BasicEstimator(),
+ *         List.of(new InetSocketAddress("10.0.0.2", 7070), new InetSocketAddress("10.0.0.3", 7070)));
+ * search.setConnectionsPerWorker(8);
+ * Result result = search.computeBestMove(board, 14, Player.WHITE);
+ * </pre>
+ */
+public final class DistributedSearch implements SearchAlgorithm {
+    /**
+     * Time allowed to connect to a worker
+     */
+    public static final int CONNECT_TIMEOUT_MILLIS = 5000;
+
+    private static final long POLL_MILLIS = 50;
+
+    private final StaticEstimator estimator;
+    private final List<InetSocketAddress> workers;
+    private boolean alphaBeta = true;
+    private int splitDepth = 2;
+    private int connectionsPerWorker = 1;
+    private int retries = 2;
+
+    /**
+     * @param estimator Estimator of the searches; workers must run the same one
+     * @param workers   Worker addresses, at least one
+     */
+    public DistributedSearch(StaticEstimator estimator, List<InetSocketAddress> workers) {
+        if (workers.isEmpty()) throw new IllegalArgumentException("At least one worker is required");
+        this.estimator = estimator;
+        this.workers = List.copyOf(workers);
+    }
+
+    /**
+     * @param hostPort Worker address written {@code host:port}
+     * @return Unresolved socket address
+     * @throws IllegalArgumentException If the address has no port
+     */
+    public static InetSocketAddress parseAddress(String hostPort) {
+        int colon = hostPort.lastIndexOf(':');
+        if (colon <= 0) throw new IllegalArgumentException("Invalid worker address '" + hostPort + "' - Expected host:port");
+        return InetSocketAddress.createUnresolved(hostPort.substring(0, colon),
+                Integer.parseInt(hostPort.substring(colon + 1)));
+    }
+
+    /**
+     * @param alphaBeta True (default) to split Alpha-Beta searches, false for MiniMax
+     */
+    public void setAlphaBeta(boolean alphaBeta) {
+        this.alphaBeta = alphaBeta;
+    }
+
+    /**
+     * @param splitDepth 1 to send each root move's subtree as a job, 2 (default) to send each reply's
+     * @throws IllegalArgumentException If the split depth is not 1 or 2
+     */
+    public void setSplitDepth(int splitDepth) {
+        if (splitDepth < 1 || splitDepth > 2) throw new IllegalArgumentException("Split depth must be 1 or 2");
+        this.splitDepth = splitDepth;
+    }
+
+    /**
+     * @param connectionsPerWorker Jobs run at once on each worker, typically its core count (default 1)
+     */
+    public void setConnectionsPerWorker(int connectionsPerWorker) {
+        if (connectionsPerWorker < 1) throw new IllegalArgumentException("Connections per worker must be at least 1");
+        this.connectionsPerWorker = connectionsPerWorker;
+    }
+
+    /**
+     * @param retries Reconnection attempts after a connection fails before its worker is given up (default 2)
+     */
+    public void setRetries(int retries) {
+        if (retries < 0) throw new IllegalArgumentException("Retries must not be negative");
+        this.retries = retries;
+    }
+
+    @Override
+    public Result computeBestMove(Board board, int depth, Player player) {
+        return computeBestMove(board, depth, player, null);
+    }
+
+    /**
+     * Searches a position on the workers
+     *
+     * @param board   Current board state
+     * @param depth   Search depth
+     * @param player  WHITE (maximizing) or BLACK (minimizing)
+     * @param control Stop signal polled while waiting for jobs, or null
+     * @return Merged result; positions evaluated sum every job, including jobs of refuted moves
+     * @throws CancellationException If the search was stopped before it completed
+     * @throws IllegalStateException If every worker connection was lost, a worker rejected the estimator,
+     *                               or a job failed on a worker
+     */
+    @Override
+    public Result computeBestMove(Board board, int depth, Player player, SearchControl control) {
+        List<Board> moves = board.isTerminal() || depth < 1 ? List.of()
+                : player == Player.WHITE ? board.generateWhiteMoves() : board.generateBlackMoves();
+        if (moves.isEmpty()) {
+            // Nothing to split: the root alone is evaluated
+            SearchAlgorithm local = alphaBeta ? new AlphaBetaAlgorithm(estimator) : new MiniMaxAlgorithm(estimator);
+            return local.computeBestMove(board, depth, player, control);
+        }
+        return new Run(board, Math.min(splitDepth, depth), depth, player, moves, control).search();
+    }
+
+    @Override
+    public StaticEstimator getEstimator() {
+        return estimator;
+    }
+
+    /**
+     * Subtree sent to a worker: a root move (split depth 1) or a reply to one (split depth 2)
+     */
+    private static final class Job {
+        final int id;
+        final int child;
+        final Board board;
+        final Player player;
+        final int depth;
+
+        Job(int id, int child, Board board, Player player, int depth) {
+            this.id = id;
+            this.child = child;
+            this.board = board;
+            this.player = player;
+            this.depth = depth;
+        }
+    }
+
+    /**
+     * Message from a connection thread to the coordinator
+     */
+    private static final class Completion {
+        final Job job;  // Null when the message is not about a job
+        final boolean skipped;
+        final int alpha;
+        final int beta;
+        final int estimate;
+        final long evaluated;
+        final String error;  // Fatal error, or null
+        final boolean lost;  // Connection given up
+
+        Completion(Job job, boolean skipped, int alpha, int beta, int estimate, long evaluated, String error,
+                   boolean lost) {
+            this.job = job;
+            this.skipped = skipped;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.estimate = estimate;
+            this.evaluated = evaluated;
+            this.error = error;
+            this.lost = lost;
+        }
+    }
+
+    /**
+     * State of one search; the coordinator thread merges results, connection threads dispatch jobs
+     */
+    private final class Run {
+        private final Board root;
+        private final int split;
+        private final int depth;
+        private final Player player;
+        private final boolean isMaximizing;
+        private final List<Board> children;
+        private final SearchControl control;
+
+        // Guarded by this
+        private final int[] childValue;  // MiniMax: value so far; Alpha-Beta: best exact reply value for the child
+        private final boolean[] exact;
+        private final boolean[] refuted;
+        private final int[] outstanding;
+        private final int[] searched;  // Jobs of the child that returned a value
+        private boolean hasRootBound;
+        private int rootBound;  // Best exact root move estimate so far (Alpha-Beta)
+
+        private final List<List<Job>> jobsByChild = new ArrayList<>();
+        private final LinkedBlockingDeque<Job> queue = new LinkedBlockingDeque<>();
+        private final LinkedBlockingQueue<Completion> completions = new LinkedBlockingQueue<>();
+        private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger liveConnections = new AtomicInteger();
+        private volatile boolean finished;
+        private long evaluated;
+        private int remainingChildren;
+
+        Run(Board root, int split, int depth, Player player, List<Board> children, SearchControl control) {
+            this.root = root;
+            this.split = split;
+            this.depth = depth;
+            this.player = player;
+            this.isMaximizing = player == Player.WHITE;
+            this.children = children;
+            this.control = control;
+            this.childValue = new int[children.size()];
+            this.exact = new boolean[children.size()];
+            this.refuted = new boolean[children.size()];
+            this.outstanding = new int[children.size()];
+            this.searched = new int[children.size()];
+        }
+
+        Result search() {
+            ProblemType problemType = alphaBeta ? ProblemType.ALPHA_BETA
+                    : player == Player.BLACK ? ProblemType.MIN_MAX_BLACK : ProblemType.MIN_MAX;
+            SearchContext context = new SearchContext(problemType, estimator, root, depth, player, false,
+                    null, null, null);
+            context.begin();
+            try {
+                Result result = merge();
+                return context.finish(result);
+            } catch (RuntimeException | Error e) {
+                context.abort();
+                throw e;
+            } finally {
+                finished = true;
+                for (Socket socket : sockets) {
+                    try {
+                        socket.close();  // Unblocks connections still waiting for a job of an abandoned search
+                    } catch (IOException ignored) {
+                        // Closing anyway
+                    }
+                }
+            }
+        }
+
+        /**
+         * Builds the jobs, runs them on the workers and merges their results
+         */
+        private Result merge() {
+            int id = 0;
+            for (int c = 0; c < children.size(); c++) {
+                Board child = children.get(c);
+                List<Job> jobs = new ArrayList<>();
+                childValue[c] = isMaximizing ? Integer.MAX_VALUE : Integer.MIN_VALUE;  // Worst for the child
+                if (split == 1) {
+                    jobs.add(new Job(id++, c, child, player.opposite(), depth - 1));
+                } else if (child.isTerminal()) {
+                    evaluateLocally(c, child);
+                } else {
+                    List<Board> replies = player == Player.WHITE ? child.generateBlackMoves() : child.generateWhiteMoves();
+                    if (replies.isEmpty()) evaluateLocally(c, child);
+                    for (Board reply : replies) {
+                        jobs.add(new Job(id++, c, reply, player, depth - 2));
+                    }
+                }
+                jobsByChild.add(jobs);
+                outstanding[c] = jobs.size();
+                if (!jobs.isEmpty()) remainingChildren++;
+            }
+
+            // Alpha-Beta: the eldest move with jobs first, the others once its estimate bounds them
+            int eldest = -1;
+            for (int c = 0; c < children.size() && eldest < 0; c++) {
+                if (!jobsByChild.get(c).isEmpty()) eldest = c;
+            }
+            boolean held = alphaBeta && eldest >= 0;
+            for (int c = 0; c < children.size(); c++) {
+                if (!held || c == eldest) queue.addAll(jobsByChild.get(c));
+            }
+            startConnections();
+
+            while (remainingChildren > 0) {
+                Completion completion;
+                try {
+                    completion = completions.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("Search interrupted");
+                }
+                if (control != null && control.isStopped()) throw new CancellationException("Search stopped");
+                if (completion == null) continue;
+                if (completion.error != null) throw new IllegalStateException(completion.error);
+                if (completion.lost) {
+                    if (liveConnections.decrementAndGet() == 0) {
+                        throw new IllegalStateException("All search worker connections failed");
+                    }
+                    continue;
+                }
+                int c = completion.job.child;
+                apply(completion);
+                if (outstanding[c] == 0) {
+                    remainingChildren--;
+                    childDone(c);
+                    if (held && c == eldest) {
+                        held = false;
+                        for (int other = 0; other < children.size(); other++) {
+                            if (other != eldest) queue.addAll(jobsByChild.get(other));
+                        }
+                    }
+                }
+            }
+            return best();
+        }
+
+        private synchronized void evaluateLocally(int c, Board child) {
+            childValue[c] = estimator.estimate(child);
+            exact[c] = true;
+            evaluated++;
+            childDone(c);
+        }
+
+        /**
+         * Merges one job result into its root move
+         */
+        private synchronized void apply(Completion completion) {
+            int c = completion.job.child;
+            outstanding[c]--;
+            if (completion.skipped) {
+                // Alpha-Beta skips a job only once its window closed: the move cannot beat the root bound
+                if (alphaBeta) refuted[c] = true;
+                return;
+            }
+            searched[c]++;
+            evaluated += completion.evaluated;
+            int v = completion.estimate;
+            if (!alphaBeta) {
+                // MiniMax: the child's value is its best reply; the root merges in order at the end
+                if (split == 1 || (isMaximizing ? v < childValue[c] : v > childValue[c])) childValue[c] = v;
+                return;
+            }
+            if (refuted[c]) return;
+            if (isMaximizing ? v <= completion.alpha : v >= completion.beta) {
+                refuted[c] = true;  // At or below the root bound: the move cannot be better
+            } else if (split == 1) {
+                childValue[c] = v;
+            } else if (isMaximizing ? v < completion.beta : v > completion.alpha) {
+                // Exact reply value inside the window: the child's estimate so far
+                if (isMaximizing ? v < childValue[c] : v > childValue[c]) childValue[c] = v;
+                if (hasRootBound && !isBetter(childValue[c], rootBound)) refuted[c] = true;
+            }
+        }
+
+        /**
+         * Records a root move whose jobs have all completed
+         */
+        private synchronized void childDone(int c) {
+            if (!alphaBeta || refuted[c]) {
+                exact[c] = !alphaBeta;
+                return;
+            }
+            exact[c] = true;
+            if (!hasRootBound || isBetter(childValue[c], rootBound)) {
+                rootBound = childValue[c];
+                hasRootBound = true;
+            }
+        }
+
+        /**
+         * @return Window for a job about to be sent, or null if its root move is already refuted
+         */
+        private synchronized int[] dispatch(Job job) {
+            if (!alphaBeta) return new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE};
+            int c = job.child;
+            if (refuted[c]) return null;
+            int rootSide = hasRootBound ? rootBound : isMaximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+            int childSide = split == 1 ? (isMaximizing ? Integer.MAX_VALUE : Integer.MIN_VALUE) : childValue[c];
+            int alpha = isMaximizing ? rootSide : childSide;
+            int beta = isMaximizing ? childSide : rootSide;
+            return alpha < beta ? new int[]{alpha, beta} : null;
+        }
+
+        private boolean isBetter(int estimate, int than) {
+            return isMaximizing ? estimate > than : estimate < than;
+        }
+
+        /**
+         * @return Best root move: MiniMax's tie rule over all moves, or the first best exact move for Alpha-Beta
+         * among those whose jobs were all searched
+         */
+        private synchronized Result best() {
+            int bestEstimate = isMaximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+            Board bestBoard = null;
+            for (int c = 0; c < children.size(); c++) {
+                if (!exact[c] || searched[c] < jobsByChild.get(c).size()) continue;
+                int v = childValue[c];
+                boolean better = alphaBeta ? bestBoard == null || isBetter(v, bestEstimate)
+                        : isMaximizing ? v >= bestEstimate : v <= bestEstimate;
+                if (better) {
+                    bestEstimate = v;
+                    bestBoard = children.get(c);
+                }
+            }
+            return new Result(bestEstimate, bestBoard, evaluated);
+        }
+
+        private void startConnections() {
+            for (InetSocketAddress address : workers) {
+                for (int i = 0; i < connectionsPerWorker; i++) {
+                    liveConnections.incrementAndGet();
+                    Thread thread = new Thread(() -> connection(address),
+                            "distributed-search-" + address.getHostString() + ":" + address.getPort());
+                    thread.setDaemon(true);
+                    thread.start();
+                }
+            }
+        }
+
+        /**
+         * Connection thread: pulls jobs until the search finishes, reconnecting after failures
+         */
+        private void connection(InetSocketAddress address) {
+            String name = address.getHostString() + ":" + address.getPort();
+            int failures = 0;
+            while (!finished) {
+                Job job = null;
+                try (Socket socket = new Socket()) {
+                    sockets.add(socket);
+                    InetSocketAddress resolved = address.isUnresolved()
+                            ? new InetSocketAddress(address.getHostString(), address.getPort()) : address;
+                    socket.connect(resolved, CONNECT_TIMEOUT_MILLIS);
+                    socket.setTcpNoDelay(true);
+                    DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                    out.writeInt(SearchWorker.MAGIC);
+                    out.writeShort(SearchWorker.VERSION);
+                    out.writeInt(estimator.identity());
+                    out.flush();
+                    if (in.readInt() != SearchWorker.STATUS_ACCEPTED) {
+                        completions.add(new Completion(null, false, 0, 0, 0, 0,
+                                "Worker " + name + " rejected the search: different estimator or protocol version", false));
+                        return;
+                    }
+
+                    while (!finished) {
+                        job = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                        if (job == null) continue;
+                        int[] window = dispatch(job);
+                        if (window == null) {
+                            completions.add(new Completion(job, true, 0, 0, 0, 0, null, false));
+                            job = null;
+                            continue;
+                        }
+                        out.writeByte(SearchWorker.OP_JOB);
+                        out.writeLong(job.id);
+                        out.writeLong(PackedBoard.pack(job.board, job.player));
+                        out.writeByte(alphaBeta ? SearchWorker.ALPHA_BETA : SearchWorker.MINIMAX);
+                        out.writeInt(job.depth);
+                        out.writeInt(window[0]);
+                        out.writeInt(window[1]);
+                        out.flush();
+                        byte status = in.readByte();
+                        long id = in.readLong();
+                        if (status != SearchWorker.REPLY_RESULT) {
+                            completions.add(new Completion(null, false, 0, 0, 0, 0,
+                                    "Job " + id + " failed on worker " + name + ": " + in.readUTF(), false));
+                            return;
+                        }
+                        int estimate = in.readInt();
+                        long positions = in.readLong();
+                        completions.add(new Completion(job, false, window[0], window[1], estimate, positions, null, false));
+                        job = null;
+                        failures = 0;
+                    }
+                    out.writeByte(SearchWorker.OP_CLOSE);
+                    out.flush();
+                    return;
+                } catch (IOException e) {
+                    if (job != null) queue.addFirst(job);  // Another connection retries it
+                    if (finished) return;
+                    if (++failures > retries) {
+                        completions.add(new Completion(null, false, 0, 0, 0, 0, null, true));
+                        return;
+                    }
+                    try {
+                        Thread.sleep(100L * failures);
+                    } catch (InterruptedException interrupted) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    if (job != null) queue.addFirst(job);
+                    return;
+                }
+            }
+        }
+    }
+}
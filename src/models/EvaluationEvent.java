@@ -0,0 +1,60 @@
+package models;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Sampled JDK Flight Recorder event for a static estimation call.
+ * <p>
+ * Disabled by default; when enabled, one evaluation in every {@link NodeEvent#SAMPLE_INTERVAL}
+ * is timed and recorded together with the estimator that produced it.
+ * </p>
+ */
+@Name("jumpy.Evaluation")
+@Label("Jumpy Static Evaluation")
+@Category({"Jumpy", "Estimator"})
+@Description("Sampled static estimation of a board position")
+@Enabled(false)
+@StackTrace(false)
+public final class EvaluationEvent extends Event {
+    private static final EventType TYPE = EventType.getEventType(EvaluationEvent.class);
+
+    @Label("Board")
+    String board;
+
+    @Label("Estimator")
+    String estimator;
+
+    @Label("Estimate")
+    int estimate;
+
+    /**
+     * @return True if a running recording has this event enabled
+     */
+    static boolean isTypeEnabled() {
+        return TYPE.isEnabled();
+    }
+
+    /**
+     * Evaluates the board inside a timed event
+     *
+     * @return The estimator's value for the board
+     */
+    static int evaluate(StaticEstimator estimator, Board board) {
+        EvaluationEvent event = new EvaluationEvent();
+        event.begin();
+        int estimate = estimator.estimate(board);
+        event.end();
+        event.board = board.toString();
+        event.estimator = estimator.getClass().getSimpleName();
+        event.estimate = estimate;
+        event.commit();
+        return estimate;
+    }
+}
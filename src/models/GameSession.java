@@ -0,0 +1,314 @@
+package models;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Plays a whole game with one engine, carrying search work over from move to move.
+ * <p>
+ * A session owns an {@link AlphaBetaAlgorithm} with a {@link TranspositionTable} that is never
+ * cleared between moves, plus the {@link PositionHistory} of the game. After a move is played,
+ * the entries stored for the subtree under it (estimates, bounds and best moves, i.e. the
+ * principal variation) seed the next search: deep enough entries return their estimates directly
+ * and the others order the previously best move first. Positions repeating the game are scored
+ * as draws.
+ * </p>
+ *
+ * <pre>
+ * GameSession session = new GameSession(new BasicEstimator(), 9, new Board("WwwwxxxxxxxxbbbB"), Player.WHITE);
+ * while (!session.isOver()) {
+ *     Result r = session.move();  // search, then play the best move
+ * }
+ * </pre>
+ *
+ * <p>With {@link #setPondering(boolean)} enabled, {@link #move()} keeps working after it returns: on a
+ * background thread, the opponent's reply is predicted (from an exact or fail-high table entry, otherwise
+ * by a search {@link #PREDICTION_REDUCTION} plies shallower) and the position after it is searched. If the opponent plays the predicted move, the next {@link #think()}
+ * takes that search's result (immediately, or after the remaining time); any other move, or a move played
+ * before the prediction is ready, stops the background search, whose stored table entries still benefit
+ * the next search.</p>
+ *
+ * <p>Sessions are not thread-safe; the table may be shared with other sessions using the same estimator.
+ * Close pondering sessions to stop the background thread.</p>
+ */
+public class GameSession implements AutoCloseable {
+    /**
+     * Table size used when none is supplied: 2^20 entries (16 MiB)
+     */
+    public static final int DEFAULT_TABLE_BITS = 20;
+
+    /**
+     * Plies by which the search predicting the opponent's reply is shallower than the session depth
+     */
+    public static final int PREDICTION_REDUCTION = 2;
+
+    private final AlphaBetaAlgorithm algorithm;
+    private final PositionHistory history = new PositionHistory();
+    private final int depth;
+    private Board board;
+    private Player player;
+    private boolean pondering;
+    private ExecutorService ponderExecutor;
+    private CompletableFuture<Board> ponderPrediction;
+    private CompletableFuture<Result> ponderSearch;
+    private SearchControl ponderControl;
+    private boolean ponderConfirmed;
+    private int ponderHits;
+    private int ponderMisses;
+
+    /**
+     * Creates a session with a private default-sized transposition table
+     *
+     * @param estimator Evaluation used for every search
+     * @param depth     Search depth per move
+     * @param board     Starting position
+     * @param player    Player to move first
+     */
+    public GameSession(StaticEstimator estimator, int depth, Board board, Player player) {
+        this(estimator, depth, board, player, new HeapTranspositionTable(DEFAULT_TABLE_BITS));
+    }
+
+    /**
+     * Creates a session using the given transposition table
+     *
+     * @param estimator Evaluation used for every search
+     * @param depth     Search depth per move
+     * @param board     Starting position
+     * @param player    Player to move first
+     * @param table     Table kept across moves
+     */
+    public GameSession(StaticEstimator estimator, int depth, Board board, Player player, TranspositionTable table) {
+        this.algorithm = new AlphaBetaAlgorithm(estimator);
+        this.algorithm.setTranspositionTable(table);
+        this.depth = depth;
+        this.board = board;
+        this.player = player;
+    }
+
+    /**
+     * @return Engine used by the session, for further configuration (statistics, selective search)
+     */
+    public AlphaBetaAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * @return Current position
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * @return Player to move in the current position
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * @return Search depth per move
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return Number of moves played
+     */
+    public int getMovesPlayed() {
+        return history.size();
+    }
+
+    /**
+     * Enables or disables pondering on the opponent's predicted reply after each {@link #move()}.
+     * Disabling stops a background search in progress.
+     *
+     * @param pondering True to search in the background while the opponent thinks
+     */
+    public void setPondering(boolean pondering) {
+        this.pondering = pondering;
+        if (!pondering) cancelPonder();
+    }
+
+    /**
+     * @return Searches answered from a background search on the correctly predicted reply
+     */
+    public int getPonderHits() {
+        return ponderHits;
+    }
+
+    /**
+     * @return Background searches stopped because the opponent played another move
+     */
+    public int getPonderMisses() {
+        return ponderMisses;
+    }
+
+    /**
+     * @return True if a king has exited or the player to move has no legal move
+     */
+    public boolean isOver() {
+        return board.isTerminal() || legalMoves().isEmpty();
+    }
+
+    /**
+     * Searches the current position without playing a move
+     *
+     * @return Search result for the player to move
+     */
+    public Result think() {
+        if (ponderSearch != null && ponderConfirmed) {
+            CompletableFuture<Result> search = ponderSearch;
+            clearPonder();
+            try {
+                Result result = search.join();
+                if (result != null) {
+                    ponderHits++;
+                    return result;
+                }
+            } catch (CompletionException | CancellationException e) {
+                // Background search failed; fall back to searching in the foreground
+            }
+        }
+        return algorithm.computeBestMove(board, depth, player, history);
+    }
+
+    /**
+     * Searches the current position and plays the best move found
+     *
+     * @return Search result; its best board is the new current position (null if the game is over)
+     */
+    public Result move() {
+        Result result = think();
+        if (result.getBestBoard() != null && !board.isTerminal()) {
+            play(result.getBestBoard());
+            if (pondering) ponder();
+        }
+        return result;
+    }
+
+    /**
+     * Plays a move for the player to move (either side's move, e.g. the opponent's reply)
+     *
+     * @param next Position after the move; must be one of the legal moves
+     * @throws IllegalArgumentException If the move is not legal in the current position
+     */
+    public void play(Board next) {
+        long target = PackedBoard.pack(next);
+        Board played = null;
+        for (Board move : legalMoves()) {
+            if (PackedBoard.pack(move) == target) {
+                played = move;
+                break;
+            }
+        }
+        if (played == null || board.isTerminal()) {
+            throw new IllegalArgumentException("Illegal move for " + player + ": " + board + " -> " + next);
+        }
+        history.push(board, player);
+        board = played;
+        player = player.opposite();
+
+        // The background search is only useful if this was the predicted reply
+        if (ponderSearch != null) {
+            Board predicted = ponderConfirmed ? null : prediction();
+            if (predicted != null && PackedBoard.pack(predicted) == PackedBoard.pack(board)) {
+                ponderConfirmed = true;
+            } else {
+                cancelPonder();
+                ponderMisses++;
+            }
+        }
+    }
+
+    /**
+     * Stops the background search, if any, and its thread
+     */
+    @Override
+    public void close() {
+        cancelPonder();
+        if (ponderExecutor != null) ponderExecutor.shutdownNow();
+    }
+
+    /**
+     * Starts predicting the opponent's reply and searching the position after it in the background,
+     * unless a background search is pending
+     */
+    private void ponder() {
+        if (ponderSearch != null || isOver()) return;
+        if (ponderExecutor == null) {
+            ponderExecutor = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "jumpy-ponder");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        Board position = board;
+        Player opponent = player;
+        PositionHistory replyHistory = new PositionHistory(history);
+        PositionHistory ponderHistory = new PositionHistory(history);
+        ponderHistory.push(position, opponent);
+        SearchControl control = new SearchControl();
+
+        ponderControl = control;
+        ponderConfirmed = false;
+        ponderPrediction = CompletableFuture.supplyAsync(
+                () -> predictReply(position, opponent, replyHistory, control), ponderExecutor);
+        ponderSearch = ponderPrediction.thenApplyAsync(reply -> reply == null || reply.isTerminal() ? null
+                : algorithm.computeBestMove(reply, depth, opponent.opposite(), ponderHistory, control), ponderExecutor);
+    }
+
+    /**
+     * Predicts the reply from the table when the stored best move is meaningful (exact or fail-high
+     * entries), otherwise from a shallower search
+     *
+     * @return Predicted position after the reply, or null if the opponent has no move
+     */
+    private Board predictReply(Board position, Player opponent, PositionHistory replyHistory, SearchControl control) {
+        TranspositionTable table = algorithm.getTranspositionTable();
+        long entry = table == null ? 0 : table.probe(PositionHistory.key(position, opponent));
+        int bound = TranspositionTable.bound(entry);
+        int index = TranspositionTable.bestMove(entry);
+        if ((bound == TranspositionTable.EXACT || bound == TranspositionTable.LOWER) && index >= 0) {
+            List<Board> moves = opponent == Player.WHITE ? position.generateWhiteMoves() : position.generateBlackMoves();
+            if (index < moves.size()) return moves.get(index);
+        }
+        int predictionDepth = Math.max(1, depth - PREDICTION_REDUCTION);
+        return algorithm.computeBestMove(position, predictionDepth, opponent, replyHistory, control).getBestBoard();
+    }
+
+    /**
+     * @return Predicted reply of the pending background search, or null if it is not ready yet or failed;
+     * never waits, so playing a move does not block on the background thread
+     */
+    private Board prediction() {
+        try {
+            return ponderPrediction.getNow(null);
+        } catch (CompletionException | CancellationException e) {
+            return null;
+        }
+    }
+
+    private void cancelPonder() {
+        if (ponderSearch == null) return;
+        ponderControl.stop();
+        clearPonder();
+    }
+
+    private void clearPonder() {
+        ponderPrediction = null;
+        ponderSearch = null;
+        ponderControl = null;
+        ponderConfirmed = false;
+    }
+
+    private List<Board> legalMoves() {
+        return player == Player.WHITE ? board.generateWhiteMoves() : board.generateBlackMoves();
+    }
+}
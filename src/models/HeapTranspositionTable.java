@@ -0,0 +1,61 @@
+package models;
+
+import java.util.Arrays;
+
+/**
+ * Lock-free {@link TranspositionTable} backed by a {@code long[]} on the Java heap.
+ * <p>
+ * Each slot holds two words: {@code key ^ entry} and {@code entry}. Concurrent writers may tear a
+ * slot (one word from each store), but then the XOR check fails and the probe reports a miss, so
+ * threads share the table without locks or atomics. Slots are direct-mapped and always replaced.
+ * </p>
+ */
+public final class HeapTranspositionTable implements TranspositionTable {
+    private final long[] slots;
+    private final int mask;
+
+    /**
+     * Creates a table with 2^bits entries (16 bytes each)
+     *
+     * @param bits Base-two logarithm of the entry count (1-30)
+     */
+    public HeapTranspositionTable(int bits) {
+        if (bits < 1 || bits > 30) {
+            throw new IllegalArgumentException("Transposition table bits must be between 1 and 30");
+        }
+        this.slots = new long[2 << bits];
+        this.mask = (1 << bits) - 1;
+    }
+
+    @Override
+    public long probe(long key) {
+        int slot = index(key, mask) << 1;
+        long check = slots[slot];
+        long entry = slots[slot + 1];
+        return entry != 0 && (check ^ entry) == key ? entry : 0;
+    }
+
+    @Override
+    public void store(long key, long entry) {
+        int slot = index(key, mask) << 1;
+        slots[slot] = key ^ entry;
+        slots[slot + 1] = entry;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(slots, 0);
+    }
+
+    @Override
+    public long capacity() {
+        return mask + 1L;
+    }
+
+    /**
+     * @return Slot of a key
+     */
+    private static int index(long key, int mask) {
+        return (int) PackedBoard.mix(key) & mask;
+    }
+}
@@ -0,0 +1,285 @@
+package models;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * {@link TranspositionTable} stored in a memory-mapped file, outside the Java heap and kept across runs.
+ * <p>
+ * Entries live in the page cache rather than on the heap, so large tables add nothing to garbage collection
+ * work, and a later process opening the same file starts with everything earlier searches stored. The file is
+ * a 64-byte header followed by 64-byte buckets of four 16-byte slots, big-endian:
+ * </p>
+ *
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "JMPT"
+ *      4     2  format version
+ *      6     2  bits (base-two logarithm of the slot count)
+ *      8     4  estimator identity ({@link StaticEstimator#identity()})
+ *     12     4  search options identity ({@link AlphaBetaAlgorithm#optionsIdentity()})
+ *     16     4  CRC32 of bytes 0-15
+ *     20    44  reserved (zero)
+ *     64  16*n  slots: (key ^ entry, entry)
+ * </pre>
+ *
+ * <p>As in {@link HeapTranspositionTable}, a slot stores {@code key ^ entry} next to the entry, which checks
+ * every probe: a slot torn by concurrent writers, or by a process killed mid-write, fails the check and
+ * reads as a miss, so threads and processes share the file without locks once it is open. A store replaces
+ * the slot holding the same key, else an empty slot, else the bucket's shallowest entry. Opening validates
+ * the header under a file lock, so processes opening the same file at once agree on it.</p>
+ *
+ * <p>Opening a file whose header is corrupt, of another version or size, or written with another
+ * estimator or other search options discards its entries: an empty table is built in a temporary file and
+ * renamed over it. A process that still has the old file mapped keeps using it undisturbed, no longer
+ * shared, until it closes the table; the file is never truncated under it. An empty new file is initialised
+ * in place, since no process maps a file before it is valid. The header is written before the slots are
+ * zeroed, so an initialisation cut short leaves a file that is rebuilt again; a header of zeros, as a file
+ * extended but never given its header has, is rebuilt too. Other files that do not start with the table
+ * magic are not tables and are never overwritten.</p>
+ */
+public final class MappedTranspositionTable implements TranspositionTable, Closeable {
+    /**
+     * File magic, the ASCII bytes "JMPT"
+     */
+    public static final int MAGIC = 0x4A4D5054;
+
+    /**
+     * Current format version
+     */
+    public static final short VERSION = 2;
+
+    /**
+     * Size of the fixed header in bytes
+     */
+    public static final int HEADER_SIZE = 64;
+
+    /**
+     * Size of one slot in bytes
+     */
+    public static final int SLOT_SIZE = 16;
+
+    /**
+     * Slots per bucket; a bucket is one 64-byte cache line
+     */
+    public static final int BUCKET_SLOTS = 4;
+
+    private static final int MIN_BITS = 2;
+    private static final int MAX_BITS = 26;
+
+    private final FileChannel channel;
+    private final int identity;
+    private final int options;
+    private final MappedByteBuffer slots;
+    private final int bucketMask;
+    private final boolean rebuilt;
+
+    /**
+     * Opens or creates a table file
+     *
+     * @param path      Table file
+     * @param bits      Base-two logarithm of the slot count ({@value #MIN_BITS}-{@value #MAX_BITS});
+     *                  a file of another size is rebuilt
+     * @param estimator Estimator of the searches using the table; a file of another estimator is rebuilt
+     * @param options   {@link AlphaBetaAlgorithm#optionsIdentity()} of the searches using the table; a file of
+     *                  other options is rebuilt
+     * @throws IOException If the file cannot be opened or mapped, or is not a table file
+     */
+    public MappedTranspositionTable(Path path, int bits, StaticEstimator estimator, int options) throws IOException {
+        if (bits < MIN_BITS || bits > MAX_BITS) {
+            throw new IllegalArgumentException("Transposition table bits must be between " + MIN_BITS + " and " + MAX_BITS);
+        }
+        this.identity = estimator.identity();
+        this.options = options;
+        FileChannel opened = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = header(bits, identity, options);
+            long size = HEADER_SIZE + ((long) SLOT_SIZE << bits);
+            boolean replace = false;
+            // Held while validating or initialising, so concurrent processes agree on one header
+            FileLock lock = opened.lock();
+            try {
+                this.rebuilt = !isValid(opened, header, size, path);
+                if (rebuilt) {
+                    if (opened.size() == 0) initialise(opened, header, size);
+                    else replace = true;  // Other processes may have the old contents mapped
+                }
+            } finally {
+                lock.release();
+            }
+            if (replace) {
+                FileChannel old = opened;
+                opened = replace(path, header, size);
+                old.close();
+            }
+            this.slots = opened.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE, size - HEADER_SIZE);
+            this.bucketMask = (1 << (bits - 2)) - 1;
+            this.channel = opened;
+        } catch (IOException | RuntimeException e) {
+            opened.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the header, then extends the file with zeros (empty slots); a file cut short has the wrong size
+     */
+    private static void initialise(FileChannel channel, ByteBuffer header, long size) throws IOException {
+        channel.write(header.duplicate(), 0);
+        channel.force(true);
+        channel.write(ByteBuffer.allocate(1), size - 1);
+        channel.force(true);
+    }
+
+    /**
+     * Builds an empty table in a temporary file next to the old one and renames it over it
+     *
+     * @return Channel of the new table, opened before the rename so it is the file this process built
+     */
+    private static FileChannel replace(Path path, ByteBuffer header, long size) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            initialise(channel, header, size);
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return channel;
+        } catch (IOException | RuntimeException e) {
+            if (channel != null) channel.close();
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    /**
+     * @return Header for the given table size, estimator and search options
+     */
+    private static ByteBuffer header(int bits, int identity, int options) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putShort((short) bits);
+        header.putInt(identity);
+        header.putInt(options);
+        CRC32 checksum = new CRC32();
+        checksum.update(header.array(), 0, 16);
+        header.putInt((int) checksum.getValue());
+        header.clear();
+        return header;
+    }
+
+    /**
+     * @return True if the file holds a table with exactly this header and size
+     * @throws IOException If the file is not empty, does not start with the table magic and its header is not
+     *                     all zeros
+     */
+    private static boolean isValid(FileChannel channel, ByteBuffer expected, long size, Path path) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize == 0) return false;
+        ByteBuffer actual = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(actual, 0);
+        actual.flip();
+        if (actual.remaining() == HEADER_SIZE && actual.equals(ByteBuffer.allocate(HEADER_SIZE))) {
+            return false;  // Extended but never given its header
+        }
+        if (actual.remaining() < 4 || actual.getInt(0) != MAGIC) {
+            throw new IOException("Not a transposition table file, refusing to overwrite: " + path);
+        }
+        return actual.equals(expected) && fileSize == size;
+    }
+
+    /**
+     * @param estimator Estimator of a search about to use the table
+     * @param options   {@link AlphaBetaAlgorithm#optionsIdentity()} of that search
+     * @return True if the table was opened for the same estimator and search options
+     */
+    boolean matches(StaticEstimator estimator, int options) {
+        return estimator.identity() == identity && options == this.options;
+    }
+
+    /**
+     * @return True if opening discarded the file's previous contents (new, corrupt or foreign file)
+     */
+    public boolean isRebuilt() {
+        return rebuilt;
+    }
+
+    @Override
+    public long probe(long key) {
+        int bucket = bucket(key);
+        for (int i = 0; i < BUCKET_SLOTS; i++) {
+            int offset = bucket + i * SLOT_SIZE;
+            long check = slots.getLong(offset);
+            long entry = slots.getLong(offset + 8);
+            if (entry != 0 && (check ^ entry) == key) return entry;
+        }
+        return 0;
+    }
+
+    @Override
+    public void store(long key, long entry) {
+        int bucket = bucket(key);
+        int target = -1;
+        int shallowest = Integer.MAX_VALUE;
+        for (int i = 0; i < BUCKET_SLOTS; i++) {
+            int offset = bucket + i * SLOT_SIZE;
+            long check = slots.getLong(offset);
+            long stored = slots.getLong(offset + 8);
+            if (stored == 0 || (check ^ stored) == key) {
+                target = offset;
+                break;
+            }
+            int depth = TranspositionTable.depth(stored);
+            if (depth < shallowest) {
+                shallowest = depth;
+                target = offset;
+            }
+        }
+        slots.putLong(target, key ^ entry);
+        slots.putLong(target + 8, entry);
+    }
+
+    @Override
+    public void clear() {
+        for (int offset = 0; offset < slots.capacity(); offset += 8) {
+            slots.putLong(offset, 0);
+        }
+    }
+
+    @Override
+    public long capacity() {
+        return (long) slots.capacity() / SLOT_SIZE;
+    }
+
+    /**
+     * Flushes entries to the file and closes it. The mapping itself is released by the garbage collector.
+     *
+     * @throws IOException If closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            slots.force();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * @return Byte offset of a key's bucket within the slot area
+     */
+    private int bucket(long key) {
+        return ((int) PackedBoard.mix(key) & bucketMask) * (BUCKET_SLOTS * SLOT_SIZE);
+    }
+}
@@ -0,0 +1,148 @@
+package models;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Lightweight Prometheus text-format endpoint built on the JDK's {@code com.sun.net.httpserver}.
+ * <p>
+ * Serves {@code GET /metrics} with:
+ * <ul>
+ *   <li>Search, node and cache lookup totals, as monotonic counters the scraper derives rates from
+ *   (for example {@code rate(jumpy_nodes_total[1m])})</li>
+ *   <li>Per-{@link ProblemType} latency summaries (p50, p99, p999, sum, count)</li>
+ *   <li>In-flight searches, cache hit ratio and JVM heap usage</li>
+ * </ul>
+ *
+ * <pre>
+ * MetricsServer server = MetricsServer.start(new InetSocketAddress("127.0.0.1", 9091), SearchMetrics.global());
+ * // curl http://127.0.0.1:9091/metrics
+ * server.stop();
+ * </pre>
+ */
+public class MetricsServer {
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+
+    private final HttpServer server;
+    private final SearchMetrics metrics;
+
+    private MetricsServer(HttpServer server, SearchMetrics metrics) {
+        this.server = server;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Binds and starts the endpoint on a background thread
+     *
+     * @param address Address to bind, typically loopback
+     * @param metrics Registry to export
+     * @return Running server
+     * @throws IOException If the address cannot be bound
+     */
+    public static MetricsServer start(InetSocketAddress address, SearchMetrics metrics) throws IOException {
+        HttpServer httpServer = HttpServer.create(address, 0);
+        MetricsServer metricsServer = new MetricsServer(httpServer, metrics);
+        httpServer.createContext("/metrics", metricsServer::handle);
+        httpServer.start();
+        return metricsServer;
+    }
+
+    /**
+     * @return Bound address (useful when started on port 0)
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Stops the endpoint immediately
+     */
+    public void stop() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Renders all metrics in the Prometheus text exposition format. Rendering keeps no state, so any number of
+     * scrapers can read the endpoint without affecting each other.
+     *
+     * @return Exposition text
+     */
+    String render() {
+        StringBuilder sb = new StringBuilder();
+        metric(sb, "jumpy_searches_total", "counter", "Completed searches", metrics.getSearches());
+        metric(sb, "jumpy_nodes_total", "counter", "Positions evaluated by completed searches",
+                metrics.getPositionsEvaluated());
+        metric(sb, "jumpy_searches_in_flight", "gauge", "Searches currently running", metrics.getInFlight());
+
+        long probes = metrics.getCacheProbes();
+        long hits = metrics.getCacheHits();
+        metric(sb, "jumpy_cache_probes_total", "counter", "Search cache lookups", probes);
+        metric(sb, "jumpy_cache_hits_total", "counter", "Search cache lookups that hit", hits);
+        metric(sb, "jumpy_cache_hit_ratio", "gauge", "Fraction of search cache lookups that hit",
+                probes == 0 ? 0 : (double) hits / probes);
+
+        header(sb, "jumpy_search_latency_seconds", "summary", "Search latency by problem type");
+        for (ProblemType type : ProblemType.values()) {
+            LatencyHistogram histogram = metrics.getLatency(type);
+            String label = "problem_type=\"" + type.getName() + "\"";
+            for (double q : QUANTILES) {
+                sample(sb, "jumpy_search_latency_seconds{" + label + ",quantile=\"" + q + "\"}",
+                        histogram.getQuantileNanos(q) / 1e9);
+            }
+            sample(sb, "jumpy_search_latency_seconds_sum{" + label + "}", histogram.getSumNanos() / 1e9);
+            sample(sb, "jumpy_search_latency_seconds_count{" + label + "}", histogram.getCount());
+        }
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        header(sb, "jumpy_heap_bytes", "gauge", "JVM heap usage");
+        sample(sb, "jumpy_heap_bytes{area=\"used\"}", heap.getUsed());
+        sample(sb, "jumpy_heap_bytes{area=\"committed\"}", heap.getCommitted());
+        sample(sb, "jumpy_heap_bytes{area=\"max\"}", heap.getMax());
+        return sb.toString();
+    }
+
+    private static void metric(StringBuilder sb, String name, String type, String help, double value) {
+        header(sb, name, type, help);
+        sample(sb, name, value);
+    }
+
+    private static void header(StringBuilder sb, String name, String type, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder sb, String name, double value) {
+        sb.append(name).append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            sb.append((long) value);
+        } else {
+            sb.append(String.format(Locale.ROOT, "%.6g", value));
+        }
+        sb.append('\n');
+    }
+}
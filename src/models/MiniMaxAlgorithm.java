@@ -14,10 +14,15 @@ import java.util.List;
  *   <li>Supports configurable search depth</li>
  *   <li>Tracks total positions evaluated during search</li>
  *   <li>Handles terminal states and empty move lists</li>
+ *   <li>{@link SearchMetrics} and JDK Flight Recorder {@link SearchEvent}s with sampled node and evaluation events</li>
+ *   <li>Optional per-ply {@link SearchStats} instrumentation</li>
+ *   <li>Cooperative cancellation through a {@link SearchControl}</li>
  * </ul>
  */
-public class MiniMaxAlgorithm {
+public class MiniMaxAlgorithm implements SearchAlgorithm {
     private final StaticEstimator estimator;
+    private boolean collectStats;
+    private SearchTrace trace;
 
     /**
      * Creates a MiniMax solver with a specific evaluation strategy
@@ -36,8 +41,77 @@ public class MiniMaxAlgorithm {
      * @param player WHITE (maximizing) or BLACK (minimizing)
      * @return Result containing best move, estimate, and evaluation metrics
      */
+    @Override
     public Result computeBestMove(Board board, int depth, Player player) {
-        return minimax(board, depth, player == Player.WHITE, player);
+        return computeBestMove(board, depth, player, null);
+    }
+
+    /**
+     * Initiates a MiniMax search that stops early when the control is stopped or its deadline passes
+     *
+     * @param board   Initial board state
+     * @param depth   Search depth (one turn by one player)
+     * @param player  WHITE (maximizing) or BLACK (minimizing)
+     * @param control Stop signal, or null
+     * @return Result containing best move, estimate, and evaluation metrics
+     * @throws java.util.concurrent.CancellationException If the search was stopped before it completed
+     */
+    @Override
+    public Result computeBestMove(Board board, int depth, Player player, SearchControl control) {
+        SearchContext context = new SearchContext(problemType(player), estimator, board, depth, player, collectStats,
+                null, null, control);
+        context.trace = trace;
+        context.begin();
+        Result result;
+        try {
+            int estimate = minimax(board, depth, player == Player.WHITE, player, context, 0);
+            // The only Result of the search: below the root the kernel returns primitive scores
+            result = new Result(estimate, context.rootMove, context.evaluated);
+        } catch (RuntimeException | Error e) {
+            context.abort();
+            throw e;
+        }
+        return context.finish(result);
+    }
+
+    @Override
+    public StaticEstimator getEstimator() {
+        return estimator;
+    }
+
+    /**
+     * Maps this search onto the program variants used for metrics and reporting
+     *
+     * @param player Player to move at the root
+     * @return MIN_MAX_BLACK for Black, MIN_MAX_IMPROVED with the improved estimator, MIN_MAX otherwise
+     */
+    private ProblemType problemType(Player player) {
+        if (player == Player.BLACK) return ProblemType.MIN_MAX_BLACK;
+        return estimator instanceof ImprovedEstimator ? ProblemType.MIN_MAX_IMPROVED : ProblemType.MIN_MAX;
+    }
+
+    /**
+     * Enables per-ply node, leaf and terminal counters for subsequent searches.
+     * Disabled by default, in which case the kernel performs no counter updates.
+     *
+     * @param collectStats True to fill {@link SearchStats} per-ply counters
+     */
+    public void setCollectStats(boolean collectStats) {
+        this.collectStats = collectStats;
+    }
+
+    /**
+     * Records every node of subsequent searches to a trace, each with the full window
+     *
+     * @param trace Trace opened with this algorithm's estimator, or null (default) to record nothing
+     * @throws IllegalArgumentException If the trace was opened with a different estimator
+     */
+    public void setTrace(SearchTrace trace) {
+        if (trace != null && !trace.matches(estimator)) {
+            throw new IllegalArgumentException("Search trace was opened with a different estimator than "
+                    + estimator.getClass().getSimpleName());
+        }
+        this.trace = trace;
     }
 
     /**
@@ -47,25 +121,46 @@ public class MiniMaxAlgorithm {
      * @param depth         Remaining search depth
      * @param isMaximizing  True for White's maximizing turn, false for Black's minimizing
      * @param currentPlayer Player making the current move
-     * @return Best result for current search subtree
+     * @param context       Per-search state (statistics, event sampling)
+     * @param ply           Distance from the root
+     * @return Estimate of the subtree; evaluations are counted in the context, and the root's best move
+     * is left in {@link SearchContext#rootMove}
+     */
+    private int minimax(Board board, int depth, boolean isMaximizing, Player currentPlayer,
+                        SearchContext context, int ply) {
+        SearchTrace trace = context.trace;
+        if (trace == null) return minimaxNode(board, depth, isMaximizing, currentPlayer, context, ply);
+        int estimate = minimaxNode(board, depth, isMaximizing, currentPlayer, context, ply);
+        trace.node(board, currentPlayer, ply, depth, Integer.MIN_VALUE, Integer.MAX_VALUE, estimate,
+                isMaximizing, false);
+        return estimate;
+    }
+
+    /**
+     * Body of {@link #minimax}, which records the node when a {@link SearchTrace} is attached
      */
-    private Result minimax(Board board, int depth, boolean isMaximizing, Player currentPlayer) {
+    private int minimaxNode(Board board, int depth, boolean isMaximizing, Player currentPlayer,
+                            SearchContext context, int ply) {
+        SearchStats counters = context.counters;
+        context.nodes++;
+        if (counters != null) counters.node(ply);
+        if (context.sampleNodes && context.nodeSampleDue()) {
+            NodeEvent.emit(board, ply, depth, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+        if (context.control != null) context.checkControl();
+        context.pvClear(ply);
+
         // Base case: leaf node
         if (depth == 0) {
-            return new Result(
-                    estimator.estimate(board),
-                    null, // Best move not tracked at leaves
-                    1 // Single position evaluated
-            );
+            if (counters != null) counters.leaf(ply);
+            return evaluate(board, context);  // Best move not tracked at leaves
         }
 
         // Base case: terminal case
         if (board.isTerminal()) {
-            return new Result(
-                    estimator.estimate(board),
-                    board, // Existing board is the best board
-                    1 // Single position evaluated
-            );
+            if (counters != null) counters.terminal(ply);
+            if (ply == 0) context.rootMove = board;  // Existing board is the best board
+            return evaluate(board, context);
         }
 
         // Generate legal moves for current player
@@ -75,18 +170,14 @@ public class MiniMaxAlgorithm {
 
         // Handle no legal moves situation
         if (moves.isEmpty()) {
-            return new Result(
-                    estimator.estimate(board),
-                    null,
-                    1
-            );
+            if (counters != null) counters.leaf(ply);
+            return evaluate(board, context);
         }
 
         int bestEstimate = isMaximizing
                 ? Integer.MIN_VALUE  // Initialize for maximizer
                 : Integer.MAX_VALUE; // Initialize for minimizer
         Board bestBoard = null;
-        int totalEval = 0;
 
         // Evaluate all possible moves
         for (Board move : moves) {
@@ -94,23 +185,41 @@ public class MiniMaxAlgorithm {
             Player nextPlayer = currentPlayer.opposite();
 
             // Recursive depth-first search
-            Result result = minimax(move, depth - 1, !isMaximizing, nextPlayer);
-            totalEval += result.getPositionsEvaluated();
+            int estimate = minimax(move, depth - 1, !isMaximizing, nextPlayer, context, ply + 1);
 
             // Update best value and move
             if (isMaximizing) {
-                if (result.getEstimate() >= bestEstimate) {
-                    bestEstimate = result.getEstimate();
+                if (estimate >= bestEstimate) {
+                    bestEstimate = estimate;
                     bestBoard = move;
+                    context.pvUpdate(ply, move);
                 }
             } else {
-                if (result.getEstimate() <= bestEstimate) {
-                    bestEstimate = result.getEstimate();
+                if (estimate <= bestEstimate) {
+                    bestEstimate = estimate;
                     bestBoard = move;
+                    context.pvUpdate(ply, move);
                 }
             }
         }
 
-        return new Result(bestEstimate, bestBoard, totalEval);
+        if (ply == 0) context.rootMove = bestBoard;
+        return bestEstimate;
+    }
+
+    /**
+     * Static evaluation of a node, counted in the positions evaluated and recorded as a sampled
+     * {@link EvaluationEvent} when enabled
+     *
+     * @param board   Position to evaluate
+     * @param context Per-search state
+     * @return Estimator value from White's perspective
+     */
+    private int evaluate(Board board, SearchContext context) {
+        context.evaluated++;
+        if (context.sampleEvaluations && context.evaluationSampleDue()) {
+            return EvaluationEvent.evaluate(estimator, board);
+        }
+        return estimator.estimate(board);
     }
-}
\ No newline at end of file
+}
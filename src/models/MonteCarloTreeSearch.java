@@ -0,0 +1,347 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Monte Carlo Tree Search with UCT selection, an alternative to the depth-first searches.
+ * <p>
+ * Every iteration descends the tree choosing the child with the highest upper confidence bound, expands
+ * the first node without children, and scores one of its new children by a random playout. Playouts run on
+ * {@link PackedBoard} values with {@link PackedBoard#generateMoves(long, Player, long[])}, so they allocate
+ * nothing; a move on which the player's own king exits is always taken. A playout ends when a king has
+ * exited (1 or 0), or is cut off at the horizon and scored by the {@link StaticEstimator}, mapped to a
+ * win probability by a logistic curve of scale {@link #setEvaluationScale(double)}.
+ * </p>
+ *
+ * <p>Several threads grow one shared tree. Node statistics are lock-free atomics, and a thread descending
+ * through a node adds a virtual loss to it until its playout is backed up, which steers concurrent threads
+ * into different branches. The search is anytime: it runs until its iteration budget is spent or its
+ * {@link SearchControl} stops (without throwing), and plays the most visited root move.</p>
+ *
+ * <p>The estimate of a {@link Result} is the chosen move's mean score from White's perspective scaled
+ * to -100 (Black wins) … 100 (White wins); positions evaluated counts playouts.</p>
+ *
+ * <pre>
+ * MonteCarloTreeSearch mcts = new MonteCarloTreeSearch(new BasicEstimator());
+ * mcts.setThreads(8);
+ * Result r = mcts.search(board, Player.WHITE, Long.MAX_VALUE, new SearchControl(100_000_000L));  // 100 ms
+ * </pre>
+ */
+public class MonteCarloTreeSearch implements SearchAlgorithm {
+    /**
+     * Iterations per search when no budget is given
+     */
+    public static final long DEFAULT_ITERATIONS = 10_000;
+
+    /**
+     * Default UCT exploration constant, √2
+     */
+    public static final double DEFAULT_EXPLORATION = Math.sqrt(2);
+
+    /**
+     * Default estimate difference that moves the playout score from 0.5 to about 0.73
+     */
+    public static final double DEFAULT_EVALUATION_SCALE = 10;
+
+    /**
+     * Plies after which a playout without horizon is scored by the estimator
+     */
+    public static final int MAX_PLAYOUT_PLIES = 256;
+
+    private static final long SCORE_UNIT = 1000;  // Scores are summed in thousandths of a point
+
+    private final StaticEstimator estimator;
+    private long iterations = DEFAULT_ITERATIONS;
+    private int threads = 1;
+    private int horizon;
+    private double exploration = DEFAULT_EXPLORATION;
+    private double evaluationScale = DEFAULT_EVALUATION_SCALE;
+    private long seed = System.nanoTime();
+
+    /**
+     * Creates a search using the estimator for playouts cut off at the horizon
+     *
+     * @param estimator Heuristic function for board evaluation
+     */
+    public MonteCarloTreeSearch(StaticEstimator estimator) {
+        this.estimator = estimator;
+    }
+
+    /**
+     * @param iterations Playouts per search for {@link #computeBestMove}, at least 1
+     */
+    public void setIterations(long iterations) {
+        if (iterations < 1) throw new IllegalArgumentException("Iterations must be positive");
+        this.iterations = iterations;
+    }
+
+    /**
+     * @param threads Threads growing the tree, including the calling thread (default 1); extra threads
+     *                run on the common fork-join pool
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) throw new IllegalArgumentException("Threads must be positive");
+        this.threads = threads;
+    }
+
+    /**
+     * @param horizon Plies below the root after which playouts are scored by the estimator; 0 plays
+     *                out to the end (at most {@link #MAX_PLAYOUT_PLIES} plies)
+     */
+    public void setHorizon(int horizon) {
+        this.horizon = Math.max(0, horizon);
+    }
+
+    /**
+     * @param exploration UCT exploration constant; larger values widen the tree
+     */
+    public void setExploration(double exploration) {
+        this.exploration = exploration;
+    }
+
+    /**
+     * @param evaluationScale Logistic scale converting estimates of cut-off playouts into scores
+     */
+    public void setEvaluationScale(double evaluationScale) {
+        this.evaluationScale = evaluationScale;
+    }
+
+    /**
+     * Seeds the playout random generators; single-threaded searches with the same seed are reproducible
+     *
+     * @param seed Random seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Runs the configured number of iterations with playouts cut off {@code depth} plies below the root
+     *
+     * @param board  Initial board state
+     * @param depth  Playout horizon (0 plays out to the end)
+     * @param player Player to move
+     * @return Result containing best move, estimate, and number of playouts
+     */
+    @Override
+    public Result computeBestMove(Board board, int depth, Player player) {
+        return computeBestMove(board, depth, player, null);
+    }
+
+    /**
+     * Like {@link #computeBestMove(Board, int, Player)}, returning the best move found so far when the
+     * control stops; never throws {@link java.util.concurrent.CancellationException}
+     *
+     * @param board   Initial board state
+     * @param depth   Playout horizon (0 plays out to the end)
+     * @param player  Player to move
+     * @param control Stop signal or deadline, or null
+     * @return Result containing best move, estimate, and number of playouts
+     */
+    @Override
+    public Result computeBestMove(Board board, int depth, Player player, SearchControl control) {
+        return search(board, player, iterations, depth, control);
+    }
+
+    /**
+     * Searches with the configured horizon until the budget is spent or the control stops
+     *
+     * @param board      Initial board state
+     * @param player     Player to move
+     * @param iterations Playout budget ({@link Long#MAX_VALUE} for time-bounded searches)
+     * @param control    Stop signal or deadline, or null
+     * @return Result containing best move, estimate, and number of playouts
+     */
+    public Result search(Board board, Player player, long iterations, SearchControl control) {
+        return search(board, player, iterations, horizon, control);
+    }
+
+    @Override
+    public StaticEstimator getEstimator() {
+        return estimator;
+    }
+
+    private Result search(Board board, Player player, long budget, int horizon, SearchControl control) {
+        SearchContext context = new SearchContext(ProblemType.MCTS, estimator, board, horizon, player, false);
+        context.begin();
+        try {
+            if (board.isTerminal()) return context.finish(new Result(estimator.estimate(board), board, 1));
+            List<Board> moves = player == Player.WHITE ? board.generateWhiteMoves() : board.generateBlackMoves();
+            if (moves.isEmpty()) return context.finish(new Result(estimator.estimate(board), null, 1));
+
+            // The root is expanded from the board generator so the chosen move keeps its Board form
+            Node root = new Node(PackedBoard.pack(board), player, 0);
+            Node[] children = new Node[moves.size()];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = new Node(PackedBoard.pack(moves.get(i)), player.opposite(), 1);
+            }
+            root.children = children;
+
+            AtomicLong remaining = new AtomicLong(budget);
+            List<CompletableFuture<Void>> helpers = new ArrayList<>();
+            for (int t = 1; t < threads; t++) {
+                long workerSeed = seed + t;
+                helpers.add(CompletableFuture.runAsync(
+                        () -> work(root, remaining, horizon, control, workerSeed), ForkJoinPool.commonPool()));
+            }
+            work(root, remaining, horizon, control, seed);
+            for (CompletableFuture<Void> helper : helpers) helper.join();
+
+            int best = 0;
+            for (int i = 1; i < children.length; i++) {
+                if (children[i].visits > children[best].visits) best = i;
+            }
+            Node chosen = children[best];
+            double mover = chosen.visits == 0 ? 0.5 : chosen.score / (double) (chosen.visits * SCORE_UNIT);
+            double white = player == Player.WHITE ? mover : 1 - mover;
+            return context.finish(new Result((int) Math.round(200 * white - 100), moves.get(best), root.visits));
+        } catch (RuntimeException | Error e) {
+            context.abort();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs iterations until the shared budget is spent or the control stops
+     */
+    private void work(Node root, AtomicLong remaining, int horizon, SearchControl control, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] moves = new long[PackedBoard.SQUARES];
+        Node[] path = new Node[MAX_PLAYOUT_PLIES + 1];
+        while (remaining.getAndDecrement() > 0 && (control == null || !control.isStopped())) {
+            // Selection, adding a virtual loss to every node on the way down
+            int length = 0;
+            Node node = root;
+            path[length++] = node;
+            Node.VIRTUAL.incrementAndGet(node);
+            while (node.children != null && node.children.length > 0 && length < path.length) {
+                node = select(node);
+                path[length++] = node;
+                Node.VIRTUAL.incrementAndGet(node);
+            }
+
+            // Expansion of a non-terminal leaf, then one new child
+            double white;
+            if (PackedBoard.isWhiteWin(node.packed)) {
+                white = 1;
+            } else if (PackedBoard.isBlackWin(node.packed)) {
+                white = 0;
+            } else {
+                if (node.children == null && length < path.length && (horizon == 0 || node.ply < horizon)) {
+                    expand(node, moves);
+                    if (node.children.length > 0) {
+                        node = select(node);
+                        path[length++] = node;
+                        Node.VIRTUAL.incrementAndGet(node);
+                    }
+                }
+                white = playout(node.packed, node.player, node.ply, horizon, random, moves);
+            }
+
+            // Backup from the perspective of the player who moved into each node
+            for (int i = 0; i < length; i++) {
+                Node visited = path[i];
+                double mover = visited.player == Player.WHITE ? 1 - white : white;
+                Node.SCORE.addAndGet(visited, Math.round(mover * SCORE_UNIT));
+                Node.VISITS.incrementAndGet(visited);
+                Node.VIRTUAL.decrementAndGet(visited);
+            }
+        }
+    }
+
+    /**
+     * @return Child with the highest UCT value, counting virtual losses as visits without score
+     */
+    private Node select(Node parent) {
+        Node[] children = parent.children;
+        double logVisits = Math.log(Math.max(1, parent.visits + parent.virtual));
+        Node best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (Node child : children) {
+            int n = child.visits + child.virtual;
+            if (n == 0) return child;  // Unvisited children first, in generation order
+            double value = child.score / (double) (n * SCORE_UNIT) + exploration * Math.sqrt(logVisits / n);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Creates the children of a node; when threads race, the first published array wins
+     */
+    private static void expand(Node node, long[] moves) {
+        int count = PackedBoard.generateMoves(node.packed, node.player, moves);
+        Node[] children = new Node[count];
+        for (int i = 0; i < count; i++) {
+            children[i] = new Node(moves[i], node.player.opposite(), node.ply + 1);
+        }
+        Node.CHILDREN.compareAndSet(node, null, children);
+    }
+
+    /**
+     * Plays random moves (taking a move that exits the mover's king) until a king has exited or the
+     * horizon is reached
+     *
+     * @return Score from White's perspective: 1 White win, 0 Black win, estimator-based in between
+     */
+    private double playout(long packed, Player player, int ply, int horizon, SplittableRandom random, long[] moves) {
+        int limit = horizon == 0 ? ply + MAX_PLAYOUT_PLIES : horizon;
+        for (; ply < limit; ply++) {
+            if (PackedBoard.isWhiteWin(packed)) return 1;
+            if (PackedBoard.isBlackWin(packed)) return 0;
+            int count = PackedBoard.generateMoves(packed, player, moves);
+            if (count == 0) break;
+            int choice = random.nextInt(count);
+            for (int i = 0; i < count; i++) {
+                if (player == Player.WHITE ? PackedBoard.isWhiteWin(moves[i]) : PackedBoard.isBlackWin(moves[i])) {
+                    choice = i;
+                    break;
+                }
+            }
+            packed = moves[choice];
+            player = player.opposite();
+        }
+        if (PackedBoard.isWhiteWin(packed)) return 1;
+        if (PackedBoard.isBlackWin(packed)) return 0;
+        return 1 / (1 + Math.exp(-estimator.estimate(PackedBoard.toBoard(packed)) / evaluationScale));
+    }
+
+    /**
+     * Tree node; statistics are updated lock-free through field updaters
+     */
+    private static final class Node {
+        static final AtomicIntegerFieldUpdater<Node> VISITS =
+                AtomicIntegerFieldUpdater.newUpdater(Node.class, "visits");
+        static final AtomicIntegerFieldUpdater<Node> VIRTUAL =
+                AtomicIntegerFieldUpdater.newUpdater(Node.class, "virtual");
+        static final AtomicLongFieldUpdater<Node> SCORE =
+                AtomicLongFieldUpdater.newUpdater(Node.class, "score");
+        static final AtomicReferenceFieldUpdater<Node, Node[]> CHILDREN =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Node[].class, "children");
+
+        final long packed;
+        final Player player;  // Player to move in this position
+        final int ply;
+        volatile Node[] children;
+        volatile int visits;
+        volatile int virtual;
+        volatile long score;  // Sum of scores for the player who moved into this node, in SCORE_UNITs
+
+        Node(long packed, Player player, int ply) {
+            this.packed = packed;
+            this.player = player;
+            this.ply = ply;
+        }
+    }
+}
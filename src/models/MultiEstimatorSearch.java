@@ -0,0 +1,169 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * MiniMax search evaluating every leaf with several static estimators in one pass over the tree.
+ * <p>
+ * Comparing estimators with separate {@link MiniMaxAlgorithm} searches generates the same tree once per
+ * estimator. Here moves are generated once and each node backs up one value per estimator, so every
+ * estimator gets exactly the {@link Result} its own MiniMax search would return (same best move, estimate,
+ * tie-breaking and positions evaluated) for the cost of one move generation plus the extra evaluations.
+ * Values are kept in per-ply arrays allocated once per search.
+ * </p>
+ *
+ * <pre>
+ * List&lt;Result&gt; results = new MultiEstimatorSearch(List.of(new BasicEstimator(), new ImprovedEstimator()))
+ *         .computeBestMoves(board, 6, Player.WHITE);
+ * </pre>
+ */
+public final class MultiEstimatorSearch {
+    private final StaticEstimator[] estimators;
+    private boolean collectStats;
+
+    /**
+     * @param estimators Estimators to compare, at least one; results come back in this order
+     */
+    public MultiEstimatorSearch(List<? extends StaticEstimator> estimators) {
+        if (estimators.isEmpty()) throw new IllegalArgumentException("At least one estimator is required");
+        this.estimators = estimators.toArray(new StaticEstimator[0]);
+    }
+
+    /**
+     * Enables per-ply node, leaf and terminal counters for subsequent searches; the tree is shared, so
+     * every result carries the same statistics
+     *
+     * @param collectStats True to fill {@link SearchStats} per-ply counters
+     */
+    public void setCollectStats(boolean collectStats) {
+        this.collectStats = collectStats;
+    }
+
+    /**
+     * @return Estimators compared, in result order
+     */
+    public List<StaticEstimator> getEstimators() {
+        return List.of(estimators);
+    }
+
+    /**
+     * Searches a position once for every estimator
+     *
+     * @param board  Current board state
+     * @param depth  Search depth
+     * @param player WHITE (maximizing) or BLACK (minimizing)
+     * @return One result per estimator, in constructor order
+     */
+    public List<Result> computeBestMoves(Board board, int depth, Player player) {
+        return computeBestMoves(board, depth, player, null);
+    }
+
+    /**
+     * Searches a position once for every estimator, with a stop signal
+     *
+     * @param board   Current board state
+     * @param depth   Search depth
+     * @param player  WHITE (maximizing) or BLACK (minimizing)
+     * @param control Stop signal polled during the search, or null
+     * @return One result per estimator, in constructor order; principal variations are not tracked
+     * @throws java.util.concurrent.CancellationException If the search was stopped before it completed
+     */
+    public List<Result> computeBestMoves(Board board, int depth, Player player, SearchControl control) {
+        ProblemType problemType = player == Player.BLACK ? ProblemType.MIN_MAX_BLACK : ProblemType.MIN_MAX;
+        SearchContext context = new SearchContext(problemType, estimators[0], board, depth, player, collectStats,
+                null, null, control);
+        int[][] values = new int[Math.max(depth, 0) + 1][estimators.length];
+        Board[] bestBoards = new Board[estimators.length];
+        context.begin();
+        long evaluated;
+        try {
+            evaluated = minimax(board, depth, player == Player.WHITE, player, context, 0, values, bestBoards);
+        } catch (RuntimeException | Error e) {
+            context.abort();
+            throw e;
+        }
+        Result first = context.finish(new Result(values[0][0], bestBoards[0], evaluated));
+        List<Result> results = new ArrayList<>(estimators.length);
+        results.add(first);
+        for (int k = 1; k < estimators.length; k++) {
+            results.add(new Result(values[0][k], bestBoards[k], evaluated, first.getStats()));
+        }
+        return results;
+    }
+
+    /**
+     * Recursive MiniMax backing up one value per estimator
+     *
+     * @param board         Current board state
+     * @param depth         Remaining search depth
+     * @param isMaximizing  True for White's turn, false for Black's
+     * @param currentPlayer Player making the current move
+     * @param context       Per-search state (statistics, stop signal)
+     * @param ply           Distance from the root; the node's values go to {@code values[ply]}
+     * @param values        Per-ply value arrays, one slot per estimator
+     * @param bestBoards    Best root move per estimator, filled at ply 0
+     * @return Positions evaluated in this subtree (per estimator)
+     */
+    private long minimax(Board board, int depth, boolean isMaximizing, Player currentPlayer,
+                         SearchContext context, int ply, int[][] values, Board[] bestBoards) {
+        SearchStats counters = context.counters;
+        context.nodes++;
+        if (counters != null) counters.node(ply);
+        if (context.control != null) context.checkControl();
+        int[] node = values[ply];
+
+        // Base case: leaf node
+        if (depth == 0) {
+            if (counters != null) counters.leaf(ply);
+            evaluate(board, node);
+            return 1;
+        }
+
+        // Base case: terminal case, the existing board is the best board
+        if (board.isTerminal()) {
+            if (counters != null) counters.terminal(ply);
+            evaluate(board, node);
+            if (ply == 0) Arrays.fill(bestBoards, board);
+            return 1;
+        }
+
+        List<Board> moves = currentPlayer == Player.WHITE
+                ? board.generateWhiteMoves()
+                : board.generateBlackMoves();
+
+        // Handle no legal moves situation
+        if (moves.isEmpty()) {
+            if (counters != null) counters.leaf(ply);
+            evaluate(board, node);
+            return 1;
+        }
+
+        Arrays.fill(node, isMaximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE);
+        int[] child = values[ply + 1];
+        long totalEval = 0;
+        for (Board move : moves) {
+            totalEval += minimax(move, depth - 1, !isMaximizing, currentPlayer.opposite(), context, ply + 1,
+                    values, bestBoards);
+
+            // Same tie rule as MiniMaxAlgorithm: the last of equal moves wins
+            for (int k = 0; k < node.length; k++) {
+                if (isMaximizing ? child[k] >= node[k] : child[k] <= node[k]) {
+                    node[k] = child[k];
+                    if (ply == 0) bestBoards[k] = move;
+                }
+            }
+        }
+        return totalEval;
+    }
+
+    /**
+     * Evaluates a board with every estimator
+     */
+    private void evaluate(Board board, int[] node) {
+        for (int k = 0; k < estimators.length; k++) {
+            node[k] = estimators[k].estimate(board);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package models;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a multi-PV search ({@link AlphaBetaAlgorithm#computeMultiPv}): the best root moves ranked
+ * with their estimates.
+ * <p>
+ * Each line is a {@link Result} whose best board is the root move and whose estimate is that move's
+ * estimate at the search depth (from White's perspective). Lines are ordered best first for the player to
+ * move. Immutable.
+ * </p>
+ */
+public final class MultiPvResult {
+    private final List<Result> lines;
+    private final long positionsEvaluated;
+    private final SearchStats stats;
+
+    /**
+     * @param lines              Ranked lines, best first
+     * @param positionsEvaluated Positions evaluated by the whole search
+     * @param stats              Instrumentation of the whole search, or null
+     */
+    public MultiPvResult(List<Result> lines, long positionsEvaluated, SearchStats stats) {
+        this.lines = Collections.unmodifiableList(lines);
+        this.positionsEvaluated = positionsEvaluated;
+        this.stats = stats;
+    }
+
+    /**
+     * @return Ranked lines, best first; empty if the root position has no move
+     */
+    public List<Result> getLines() {
+        return lines;
+    }
+
+    /**
+     * @return Best line, or null if the root position has no move
+     */
+    public Result getBest() {
+        return lines.isEmpty() ? null : lines.get(0);
+    }
+
+    /**
+     * @return Positions evaluated by the whole search, all lines and iterations included
+     */
+    public long getPositionsEvaluated() {
+        return positionsEvaluated;
+    }
+
+    /**
+     * @return Instrumentation of the whole search
+     */
+    public SearchStats getStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,69 @@
+package models;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Sampled JDK Flight Recorder event describing one visited search node.
+ * <p>
+ * Disabled by default. When enabled in a recording, one node in every
+ * {@link #SAMPLE_INTERVAL} is emitted (system property {@code jumpy.jfr.sampleInterval},
+ * default 1024). Whether sampling is active is decided once per search, so disabled recordings
+ * add no work to the search kernels beyond a boolean test.
+ * </p>
+ * <pre>
+ * java -XX:StartFlightRecording=settings=profile,jumpy.Node#enabled=true ...
+ * </pre>
+ */
+@Name("jumpy.Node")
+@Label("Jumpy Search Node")
+@Category({"Jumpy", "Search"})
+@Description("Sampled node visited by a game tree search")
+@Enabled(false)
+@StackTrace(false)
+public final class NodeEvent extends Event {
+    /**
+     * Number of nodes (and static evaluations) between two samples
+     */
+    static final int SAMPLE_INTERVAL = Math.max(1, Integer.getInteger("jumpy.jfr.sampleInterval", 1024));
+
+    private static final EventType TYPE = EventType.getEventType(NodeEvent.class);
+
+    @Label("Board")
+    String board;
+
+    @Label("Ply")
+    int ply;
+
+    @Label("Remaining Depth")
+    int depth;
+
+    @Label("Alpha")
+    int alpha;
+
+    @Label("Beta")
+    int beta;
+
+    /**
+     * @return True if a running recording has this event enabled
+     */
+    static boolean isTypeEnabled() {
+        return TYPE.isEnabled();
+    }
+
+    static void emit(Board board, int ply, int depth, int alpha, int beta) {
+        NodeEvent event = new NodeEvent();
+        event.board = board.toString();
+        event.ply = ply;
+        event.depth = depth;
+        event.alpha = alpha;
+        event.beta = beta;
+        event.commit();
+    }
+}
@@ -0,0 +1,222 @@
+package models;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Precomputed best moves and estimates for positions near the start of a game.
+ * <p>
+ * A book maps position keys ({@link PositionHistory#key(Board, Player)}) to entries in the
+ * {@link TranspositionTable} layout (estimate, search depth, exact bound, best move index). Keys are
+ * kept sorted, so {@link #probe(long)} is a binary search over a primitive array. The file is a 24-byte
+ * header followed by 16 bytes (key, entry) per position, big-endian:
+ * </p>
+ *
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "JMPB"
+ *      4     2  format version
+ *      6     2  reserved (zero)
+ *      8     4  position count
+ *     12     4  search depth of every entry
+ *     16     4  estimator id ({@link StaticEstimator#identity()})
+ *     20     4  CRC32 of the entries
+ *     24  16*n  sorted (key, entry) pairs
+ * </pre>
+ *
+ * <p>Books are immutable after construction and safe to share between threads.</p>
+ */
+public final class OpeningBook {
+    /**
+     * File magic, the ASCII bytes "JMPB"
+     */
+    public static final int MAGIC = 0x4A4D5042;
+
+    /**
+     * Current format version
+     */
+    public static final short VERSION = 1;
+
+    /**
+     * Size of the fixed header in bytes
+     */
+    public static final int HEADER_SIZE = 24;
+
+    /**
+     * Size of one (key, entry) pair in bytes
+     */
+    public static final int ENTRY_SIZE = 16;
+
+    private final long[] keys;
+    private final long[] entries;
+    private final int depth;
+    private final int estimatorId;
+
+    private OpeningBook(long[] keys, long[] entries, int depth, int estimatorId) {
+        this.keys = keys;
+        this.entries = entries;
+        this.depth = depth;
+        this.estimatorId = estimatorId;
+    }
+
+    /**
+     * Builds a book from unsorted entries
+     *
+     * @param estimator Estimator the entries were searched with
+     * @param depth     Search depth of every entry
+     * @param keys      Position keys (distinct)
+     * @param entries   Entries built with {@link TranspositionTable#entry(int, int, int, int)}, parallel to keys
+     * @return Sorted book
+     * @throws IllegalArgumentException If the arrays differ in length or keys repeat
+     */
+    public static OpeningBook of(StaticEstimator estimator, int depth, long[] keys, long[] entries) {
+        if (keys.length != entries.length) {
+            throw new IllegalArgumentException("Keys and entries must have the same length");
+        }
+        Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+
+        long[] sortedKeys = new long[keys.length];
+        long[] sortedEntries = new long[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedKeys[i] = keys[order[i]];
+            sortedEntries[i] = entries[order[i]];
+            if (i > 0 && sortedKeys[i] == sortedKeys[i - 1]) {
+                throw new IllegalArgumentException("Duplicate book position: " + PackedBoard.toString(sortedKeys[i]));
+            }
+        }
+        return new OpeningBook(sortedKeys, sortedEntries, depth, estimatorId(estimator));
+    }
+
+    /**
+     * Reads and verifies a book file
+     *
+     * @param path Book file
+     * @return Loaded book
+     * @throws IOException If the file cannot be read or is not a valid book
+     */
+    public static OpeningBook load(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("Not an opening book file: " + path);
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported opening book version " + version + ": " + path);
+        }
+        buffer.getShort();
+        int count = buffer.getInt();
+        int depth = buffer.getInt();
+        int estimatorId = buffer.getInt();
+        int expectedChecksum = buffer.getInt();
+        if (count < 0 || buffer.remaining() != (long) count * ENTRY_SIZE) {
+            throw new IOException("Opening book size does not match its header: " + path);
+        }
+
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.duplicate());
+        if ((int) checksum.getValue() != expectedChecksum) {
+            throw new IOException("Opening book checksum mismatch: " + path);
+        }
+
+        long[] keys = new long[count];
+        long[] entries = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = buffer.getLong();
+            entries[i] = buffer.getLong();
+            if (i > 0 && keys[i] <= keys[i - 1]) {
+                throw new IOException("Opening book positions are not sorted: " + path);
+            }
+        }
+        return new OpeningBook(keys, entries, depth, estimatorId);
+    }
+
+    /**
+     * Writes the book to a file
+     *
+     * @param path Target file, created or truncated
+     * @throws IOException If writing fails
+     */
+    public void save(Path path) throws IOException {
+        ByteBuffer payload = ByteBuffer.allocate(keys.length * ENTRY_SIZE);
+        for (int i = 0; i < keys.length; i++) {
+            payload.putLong(keys[i]);
+            payload.putLong(entries[i]);
+        }
+        payload.flip();
+        CRC32 checksum = new CRC32();
+        checksum.update(payload.duplicate());
+
+        ByteBuffer file = ByteBuffer.allocate(HEADER_SIZE + payload.remaining());
+        file.putInt(MAGIC);
+        file.putShort(VERSION);
+        file.putShort((short) 0);
+        file.putInt(keys.length);
+        file.putInt(depth);
+        file.putInt(estimatorId);
+        file.putInt((int) checksum.getValue());
+        file.put(payload);
+        Files.write(path, file.array());
+    }
+
+    /**
+     * Looks up a position in O(log n)
+     *
+     * @param key Position key
+     * @return Entry in the {@link TranspositionTable} layout, or 0 if the position is not in the book
+     */
+    public long probe(long key) {
+        int index = Arrays.binarySearch(keys, key);
+        return index >= 0 ? entries[index] : 0;
+    }
+
+    /**
+     * Looks up the book move of a position
+     *
+     * @param board  Position
+     * @param player Player to move
+     * @return Position after the book move, or null if the position is not in the book
+     */
+    public Board lookup(Board board, Player player) {
+        int index = TranspositionTable.bestMove(probe(PositionHistory.key(board, player)));
+        if (index < 0) return null;
+        List<Board> moves = player == Player.WHITE ? board.generateWhiteMoves() : board.generateBlackMoves();
+        return index < moves.size() ? moves.get(index) : null;
+    }
+
+    /**
+     * @return Number of positions in the book
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * @return Search depth of every entry
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @param estimator Estimator to check
+     * @return True if the book was searched with an estimator of the same identity
+     */
+    public boolean matches(StaticEstimator estimator) {
+        return estimatorId == estimatorId(estimator);
+    }
+
+    /**
+     * @param estimator Estimator
+     * @return Identifier stored in book headers: {@link StaticEstimator#identity()}
+     */
+    public static int estimatorId(StaticEstimator estimator) {
+        return estimator.identity();
+    }
+}
@@ -0,0 +1,311 @@
+package models;
+
+import java.util.ArrayList;
+
+/**
+ * Compact 64-bit encoding of a Jumpy3 board.
+ * <p>
+ * Each of the 16 squares occupies one 4-bit nibble, square 0 in the lowest nibble and square 15
+ * in the highest. Piece codes only use the low three bits of a nibble:
+ * <ul>
+ *   <li>0 = EMPTY</li>
+ *   <li>1 = WHITE_KING</li>
+ *   <li>2 = WHITE_PAWN</li>
+ *   <li>3 = BLACK_KING</li>
+ *   <li>4 = BLACK_PAWN</li>
+ * </ul>
+ *
+ * <p>The spare high bit of square 0's nibble carries an optional side-to-move flag
+ * ({@link #BLACK_TO_MOVE}). The spare bits of squares 1 and 2 carry an optional game result label
+ * ({@link #result(long)}), used by labelled corpora. A packed value with the flags cleared is exactly
+ * the board layout, so two packed boards are equal if and only if their positions are equal.</p>
+ *
+ * <pre>
+ * "WwwwxxxxxxxxbbbB" → 0x3444000000002221L
+ * </pre>
+ */
+public final class PackedBoard {
+    /**
+     * Number of squares encoded in one packed value
+     */
+    public static final int SQUARES = 16;
+
+    /**
+     * Side-to-move flag, set when Black is to move
+     */
+    public static final long BLACK_TO_MOVE = 1L << 3;
+
+    /**
+     * Result label: no result recorded
+     */
+    public static final int RESULT_NONE = 0;
+
+    /**
+     * Result label: Black won the game the position was taken from
+     */
+    public static final int RESULT_BLACK_WIN = 1;
+
+    /**
+     * Result label: the game was drawn
+     */
+    public static final int RESULT_DRAW = 2;
+
+    /**
+     * Result label: White won the game
+     */
+    public static final int RESULT_WHITE_WIN = 3;
+
+    /**
+     * Mask selecting the two result label bits (the spare bits of squares 1 and 2)
+     */
+    public static final long RESULT_MASK = (1L << 7) | (1L << 11);
+
+    /**
+     * Mask selecting the sixteen 3-bit piece codes, i.e. the position without flag bits
+     */
+    public static final long POSITION_MASK = 0x7777777777777777L;
+
+    private static final Piece[] PIECES = {
+            Piece.EMPTY, Piece.WHITE_KING, Piece.WHITE_PAWN, Piece.BLACK_KING, Piece.BLACK_PAWN
+    };
+
+    private static final int[] CODES = new int[Piece.values().length];
+
+    static {
+        for (int code = 0; code < PIECES.length; code++) {
+            CODES[PIECES[code].ordinal()] = code;
+        }
+    }
+
+    private PackedBoard() {
+    }
+
+    /**
+     * @param piece Piece to encode
+     * @return 3-bit nibble code of the piece
+     */
+    public static int code(Piece piece) {
+        return CODES[piece.ordinal()];
+    }
+
+    /**
+     * @param code Nibble code (0-4)
+     * @return Piece represented by the code
+     * @throws IllegalArgumentException For codes outside the piece range
+     */
+    public static Piece piece(int code) {
+        if (code < 0 || code >= PIECES.length) {
+            throw new IllegalArgumentException("Invalid piece code: " + code);
+        }
+        return PIECES[code];
+    }
+
+    /**
+     * Packs a board without side-to-move information
+     *
+     * @param board 16-square board to encode
+     * @return Packed position
+     */
+    public static long pack(Board board) {
+        ArrayList<Piece> positions = board.getPositions();
+        long packed = 0L;
+        for (int i = 0; i < SQUARES; i++) {
+            packed |= (long) CODES[positions.get(i).ordinal()] << (i << 2);
+        }
+        return packed;
+    }
+
+    /**
+     * Packs a board together with the player to move
+     *
+     * @param board      16-square board to encode
+     * @param sideToMove Player whose turn it is
+     * @return Packed position with the side-to-move flag applied
+     */
+    public static long pack(Board board, Player sideToMove) {
+        return withSideToMove(pack(board), sideToMove);
+    }
+
+    /**
+     * @param packed Packed position
+     * @param square Square index (0-15)
+     * @return Piece stored on the square
+     */
+    public static Piece pieceAt(long packed, int square) {
+        return PIECES[(int) (packed >>> (square << 2)) & 0x7];
+    }
+
+    /**
+     * @param packed Packed position
+     * @return Player to move as recorded by the side-to-move flag
+     */
+    public static Player sideToMove(long packed) {
+        return (packed & BLACK_TO_MOVE) != 0 ? Player.BLACK : Player.WHITE;
+    }
+
+    /**
+     * @param packed     Packed position
+     * @param sideToMove Player to record
+     * @return Packed position with the side-to-move flag replaced
+     */
+    public static long withSideToMove(long packed, Player sideToMove) {
+        return sideToMove == Player.BLACK ? packed | BLACK_TO_MOVE : packed & ~BLACK_TO_MOVE;
+    }
+
+    /**
+     * @param packed Packed position
+     * @return Result label, one of the {@code RESULT_*} constants
+     */
+    public static int result(long packed) {
+        return (int) ((packed >>> 7) & 1 | (packed >>> 10) & 2);
+    }
+
+    /**
+     * @param packed Packed position
+     * @param result Result label, one of the {@code RESULT_*} constants
+     * @return Packed position with the result label replaced
+     */
+    public static long withResult(long packed, int result) {
+        return packed & ~RESULT_MASK | (long) (result & 1) << 7 | (long) (result & 2) << 10;
+    }
+
+    /**
+     * @param packed Packed position
+     * @return The position with all flag bits cleared
+     */
+    public static long position(long packed) {
+        return packed & POSITION_MASK;
+    }
+
+    /**
+     * Decodes a packed position into a board
+     *
+     * @param packed Packed position (flag bits are ignored)
+     * @return Newly allocated board
+     */
+    public static Board toBoard(long packed) {
+        ArrayList<Piece> positions = new ArrayList<>(SQUARES);
+        for (int i = 0; i < SQUARES; i++) {
+            positions.add(pieceAt(packed, i));
+        }
+        return new Board(positions);
+    }
+
+    /**
+     * Decodes a packed position into its 16-character string form without building a board
+     *
+     * @param packed Packed position (flag bits are ignored)
+     * @return Board string using W/w/B/b/x
+     */
+    public static String toString(long packed) {
+        char[] chars = new char[SQUARES];
+        for (int i = 0; i < SQUARES; i++) {
+            chars[i] = pieceAt(packed, i).getPiece();
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @param packed Packed position
+     * @return True if the White king has exited the board
+     */
+    public static boolean isWhiteWin(long packed) {
+        return !contains(packed, 1);
+    }
+
+    /**
+     * @param packed Packed position
+     * @return True if the Black king has exited the board
+     */
+    public static boolean isBlackWin(long packed) {
+        return !contains(packed, 3);
+    }
+
+    private static boolean contains(long packed, int code) {
+        for (int i = 0; i < SQUARES; i++) {
+            if (((packed >>> (i << 2)) & 0x7) == code) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Mirrors a position as {@link Board#flip()} does: squares reversed, colours swapped
+     *
+     * @param packed Packed position (flag bits are cleared)
+     * @return Flipped position
+     */
+    public static long flip(long packed) {
+        long flipped = 0L;
+        for (int i = 0; i < SQUARES; i++) {
+            int code = (int) (packed >>> (i << 2)) & 0x7;
+            if (code != 0) code = code <= 2 ? code + 2 : code - 2;
+            flipped |= (long) code << ((15 - i) << 2);
+        }
+        return flipped;
+    }
+
+    /**
+     * Generates the moves of a player without allocating, in the order of
+     * {@link Board#generateWhiteMoves()} and {@link Board#generateBlackMoves()}
+     *
+     * @param packed Packed position (flag bits are ignored)
+     * @param player Player to move
+     * @param moves  Output array with room for {@link #SQUARES} positions, flag bits cleared
+     * @return Number of moves written
+     */
+    public static int generateMoves(long packed, Player player, long[] moves) {
+        if (player == Player.WHITE) return generateWhiteMoves(position(packed), moves);
+        int count = generateWhiteMoves(flip(packed), moves);
+        for (int i = 0; i < count; i++) moves[i] = flip(moves[i]);
+        return count;
+    }
+
+    /**
+     * Mirrors the move rules of {@link Board#generateWhiteMoves()} on nibbles
+     */
+    private static int generateWhiteMoves(long packed, long[] moves) {
+        int count = 0;
+        for (int i = 0; i < SQUARES; i++) {
+            long piece = (packed >>> (i << 2)) & 0x7;
+            if (piece != 1 && piece != 2) continue;
+            long next = packed & ~(0xFL << (i << 2));
+            if (i == 15) {
+                moves[count++] = next;  // Piece exits the board
+                continue;
+            }
+            if (((packed >>> ((i + 1) << 2)) & 0x7) == 0) {
+                moves[count++] = next | piece << ((i + 1) << 2);
+                continue;
+            }
+
+            int j = i + 1;
+            while (j < SQUARES && ((packed >>> (j << 2)) & 0x7) != 0) j++;
+            if (j < SQUARES) {
+                next |= piece << (j << 2);
+                long jumped = (packed >>> ((i + 1) << 2)) & 0x7;
+                if (j == i + 2 && (jumped == 3 || jumped == 4)) {
+                    // Capture: the jumped piece goes back to the rightmost empty square
+                    int k = 15;
+                    while (k >= 0 && ((next >>> (k << 2)) & 0x7) != 0) k--;
+                    if (k >= 0) next = next & ~(0xFL << ((i + 1) << 2)) | jumped << (k << 2);
+                }
+            }
+            moves[count++] = next;
+        }
+        return count;
+    }
+
+    /**
+     * Spreads a packed value over all 64 bits (MurmurHash3 finalizer step), so boards differing in
+     * a single square land in unrelated hash slots
+     *
+     * @param packed Packed value
+     * @return Mixed hash
+     */
+    static long mix(long packed) {
+        packed ^= packed >>> 33;
+        packed *= 0xff51afd7ed558ccdL;
+        packed ^= packed >>> 33;
+        return packed;
+    }
+}
@@ -0,0 +1,213 @@
+package models;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Data-driven linear estimator over the features of {@link ImprovedEstimator}.
+ * <p>
+ * The estimate of a non-terminal position is the dot product of integer weights with these features,
+ * all from White's perspective (terminal positions keep the fixed ±100):
+ * </p>
+ * <ol>
+ *   <li><b>king_advance</b>: WhiteKing + BlackKing - 15</li>
+ *   <li><b>pawn_advance</b>: Sum(WhitePawn positions) - Sum(15 - BlackPawn positions)</li>
+ *   <li><b>pawn_count</b>: WhitePawns - BlackPawns</li>
+ *   <li><b>black_pawns_ahead</b>: Black pawns ahead of the White King (capturable)</li>
+ *   <li><b>white_pawns_ahead</b>: White pawns ahead of the White King (blocking)</li>
+ *   <li><b>white_king_near_exit</b>: 1 if WhiteKing ≥ 13</li>
+ *   <li><b>black_king_near_exit</b>: 1 if BlackKing ≤ 2</li>
+ * </ol>
+ *
+ * <p>The default weights {@link #IMPROVED_WEIGHTS} reproduce {@link ImprovedEstimator} exactly. Tuned
+ * weights are stored in a text file of {@code name=value} lines ({@code #} starts a comment):</p>
+ * <pre>
+ * king_advance=3
+ * pawn_advance=1
+ * ...
+ * </pre>
+ */
+public class ParameterizedEstimator implements StaticEstimator {
+    /**
+     * Feature names, in weight order
+     */
+    public static final String[] FEATURES = {
+            "king_advance", "pawn_advance", "pawn_count", "black_pawns_ahead", "white_pawns_ahead",
+            "white_king_near_exit", "black_king_near_exit"
+    };
+
+    /**
+     * Weights equivalent to {@link ImprovedEstimator}: 3× king, pawn advance, 2× pawn count,
+     * 2× path balance plus the clear path terms (+4 capturable, -5 blocking), ±50 exit bonus
+     */
+    public static final int[] IMPROVED_WEIGHTS = {3, 1, 2, 4, -5, 50, -50};
+
+    private final int[] weights;
+
+    /**
+     * Creates an estimator with the {@link ImprovedEstimator} weights
+     */
+    public ParameterizedEstimator() {
+        this(IMPROVED_WEIGHTS);
+    }
+
+    /**
+     * @param weights One weight per entry of {@link #FEATURES}
+     * @throws IllegalArgumentException If the number of weights does not match
+     */
+    public ParameterizedEstimator(int[] weights) {
+        if (weights.length != FEATURES.length) {
+            throw new IllegalArgumentException("Expected " + FEATURES.length + " weights, got " + weights.length);
+        }
+        this.weights = weights.clone();
+    }
+
+    /**
+     * Reads a weights file; features missing from the file keep their {@link #IMPROVED_WEIGHTS} value
+     *
+     * @param path Weights file
+     * @return Estimator with the loaded weights
+     * @throws IOException If the file cannot be read
+     * @throws IllegalArgumentException For unknown feature names or malformed lines
+     */
+    public static ParameterizedEstimator load(Path path) throws IOException {
+        int[] weights = IMPROVED_WEIGHTS.clone();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                int eq = line.indexOf('=');
+                if (eq < 0) {
+                    throw new IllegalArgumentException("Invalid weights line '" + line + "' - Expected name=value");
+                }
+                weights[featureIndex(line.substring(0, eq).trim())] = Integer.parseInt(line.substring(eq + 1).trim());
+            }
+        }
+        return new ParameterizedEstimator(weights);
+    }
+
+    /**
+     * Writes the weights file
+     *
+     * @param path    Target file
+     * @param comment Comment written as the first line, or null
+     * @throws IOException If writing fails
+     */
+    public void save(Path path, String comment) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            if (comment != null) writer.println("# " + comment);
+            for (int i = 0; i < FEATURES.length; i++) {
+                writer.println(FEATURES[i] + "=" + weights[i]);
+            }
+        }
+    }
+
+    private static int featureIndex(String name) {
+        for (int i = 0; i < FEATURES.length; i++) {
+            if (FEATURES[i].equals(name)) return i;
+        }
+        throw new IllegalArgumentException("Unknown feature: " + name + ". Valid values: " + Arrays.toString(FEATURES));
+    }
+
+    /**
+     * @return Copy of the weights, in {@link #FEATURES} order
+     */
+    public int[] getWeights() {
+        return weights.clone();
+    }
+
+    /**
+     * @return Identity covering the class and the weights, so tables and books searched with other
+     * weights are rejected
+     */
+    @Override
+    public int identity() {
+        return 31 * getClass().getName().hashCode() + Arrays.hashCode(weights);
+    }
+
+    /**
+     * Extracts the feature vector of a non-terminal position
+     *
+     * @param board    Position
+     * @param features Output array of length {@link #FEATURES}{@code .length}
+     */
+    public static void features(Board board, int[] features) {
+        scan(board, features, null);
+    }
+
+    /**
+     * Scans a non-terminal position once, without allocating, for its features and their weighted sum
+     *
+     * @param board    Position
+     * @param features Output array of length {@link #FEATURES}{@code .length}, or null
+     * @param weights  Weights in {@link #FEATURES} order, or null
+     * @return Weighted feature sum, or 0 without weights
+     */
+    private static int scan(Board board, int[] features, int[] weights) {
+        int whiteKing = -1, blackKing = -1;
+        int sumWhitePawns = 0, sumBlackPawns = 0, whitePawns = 0, blackPawns = 0;
+        for (int i = 0; i < 16; i++) {
+            switch (board.getPositions().get(i)) {
+                case WHITE_KING:
+                    whiteKing = i;
+                    break;
+                case BLACK_KING:
+                    blackKing = i;
+                    break;
+                case WHITE_PAWN:
+                    sumWhitePawns += i;
+                    whitePawns++;
+                    break;
+                case BLACK_PAWN:
+                    sumBlackPawns += 15 - i;
+                    blackPawns++;
+                    break;
+                default:
+                    break;
+            }
+        }
+        int blockingWhite = 0, capturableBlack = 0;
+        for (int i = whiteKing + 1; i < 16; i++) {
+            Piece piece = board.getPositions().get(i);
+            if (piece == Piece.WHITE_PAWN) blockingWhite++;
+            else if (piece == Piece.BLACK_PAWN) capturableBlack++;
+        }
+        int kingAdvance = whiteKing + blackKing - 15;
+        int pawnAdvance = sumWhitePawns - sumBlackPawns;
+        int pawnCount = whitePawns - blackPawns;
+        int whiteNearExit = whiteKing >= 13 ? 1 : 0;
+        int blackNearExit = blackKing <= 2 ? 1 : 0;
+        if (features != null) {
+            features[0] = kingAdvance;
+            features[1] = pawnAdvance;
+            features[2] = pawnCount;
+            features[3] = capturableBlack;
+            features[4] = blockingWhite;
+            features[5] = whiteNearExit;
+            features[6] = blackNearExit;
+        }
+        if (weights == null) return 0;
+        return weights[0] * kingAdvance + weights[1] * pawnAdvance + weights[2] * pawnCount + weights[3] * capturableBlack
+                + weights[4] * blockingWhite + weights[5] * whiteNearExit + weights[6] * blackNearExit;
+    }
+
+    /**
+     * Computes the weighted feature sum, or ±100 for won positions
+     *
+     * @param board Current game state to evaluate
+     * @return Estimated advantage score from White's perspective
+     */
+    @Override
+    public int estimate(Board board) {
+        if (board.isWhiteWin()) return 100;
+        if (board.isBlackWin()) return -100;
+
+        return scan(board, null, weights);
+    }
+}
@@ -1,7 +1,5 @@
 package models;
 
-import java.util.Arrays;
-
 /**
  * Represents game pieces and empty spaces in Jumpy3 board configurations.
  * <p>
@@ -44,6 +42,14 @@ public enum Piece {
      */
     EMPTY('x');
 
+    private static final Piece[] BY_CHAR = new Piece[128];
+
+    static {
+        for (Piece p : values()) {
+            BY_CHAR[p.piece] = p;
+        }
+    }
+
     private final char piece;
 
     /**
@@ -56,7 +62,7 @@ public enum Piece {
     }
 
     /**
-     * Converts board character to corresponding Piece enum
+     * Converts board character to corresponding Piece enum using a 128-entry lookup table
      *
      * @param piece Character from board string (case-sensitive)
      * @return Matching Piece enum value
@@ -68,13 +74,14 @@ public enum Piece {
      *                                  </pre>
      */
     public static Piece fromChar(char piece) {
-        return Arrays.stream(Piece.values())
-                .filter(p -> p.piece == piece)
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Invalid piece character: '" + piece + "'. " +
-                                "Valid values: W, w, B, b, x"
-                ));
+        Piece p = piece < BY_CHAR.length ? BY_CHAR[piece] : null;
+        if (p == null) {
+            throw new IllegalArgumentException(
+                    "Invalid piece character: '" + piece + "'. " +
+                            "Valid values: W, w, B, b, x"
+            );
+        }
+        return p;
     }
 
     /**
@@ -0,0 +1,198 @@
+package models;
+
+import java.util.Arrays;
+
+/**
+ * Stack of position keys with O(1) repetition lookups.
+ * <p>
+ * Jumpy3 games can cycle because captured pieces are sent back to the far end of the board. A history
+ * records the positions of the current line (search path) or of the game played so far, keyed by the
+ * {@link PackedBoard} value including the side to move, so a position is a repetition only when the same
+ * player is to move on the same board.
+ * </p>
+ *
+ * <p>Keys are kept both on a stack, for LIFO push/pop along the search path, and in an open-addressing
+ * multiset (linear probing with backward-shift deletion) so {@link #contains(long)} never scans the stack.</p>
+ *
+ * <p>Instances are mutable and not thread-safe. Searches copy a game history before extending it.</p>
+ *
+ * <pre>
+ * PositionHistory game = new PositionHistory();
+ * game.push(board, Player.WHITE);
+ * Result r = alphaBeta.computeBestMove(board, 9, Player.WHITE, game);
+ * </pre>
+ */
+public final class PositionHistory {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] stack;
+    private int size;
+    private long[] keys;
+    private int[] counts;
+    private int distinct;
+
+    /**
+     * Creates an empty history
+     */
+    public PositionHistory() {
+        this.stack = new long[INITIAL_CAPACITY];
+        this.keys = new long[INITIAL_CAPACITY];
+        this.counts = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Creates an independent copy of another history
+     *
+     * @param other History to copy
+     */
+    public PositionHistory(PositionHistory other) {
+        this.stack = other.stack.clone();
+        this.size = other.size;
+        this.keys = other.keys.clone();
+        this.counts = other.counts.clone();
+        this.distinct = other.distinct;
+    }
+
+    /**
+     * @param board  Board to key
+     * @param player Player to move on the board
+     * @return Repetition key: the packed board with its side-to-move flag
+     */
+    public static long key(Board board, Player player) {
+        return PackedBoard.pack(board, player);
+    }
+
+    /**
+     * Appends a position to the history
+     *
+     * @param board  Board reached
+     * @param player Player to move on the board
+     */
+    public void push(Board board, Player player) {
+        push(key(board, player));
+    }
+
+    /**
+     * Appends a position key to the history
+     *
+     * @param key Key from {@link #key(Board, Player)}
+     */
+    public void push(long key) {
+        if (size == stack.length) stack = Arrays.copyOf(stack, size * 2);
+        stack[size++] = key;
+
+        int slot = find(key);
+        if (counts[slot] == 0) {
+            keys[slot] = key;
+            if (++distinct * 2 > keys.length) {
+                counts[slot] = 1;
+                rehash(keys.length * 2);
+                return;
+            }
+        }
+        counts[slot]++;
+    }
+
+    /**
+     * Removes the most recent position
+     *
+     * @return Key of the removed position
+     * @throws IllegalStateException If the history is empty
+     */
+    public long pop() {
+        if (size == 0) {
+            throw new IllegalStateException("Position history is empty");
+        }
+        long key = stack[--size];
+        int slot = find(key);
+        if (--counts[slot] == 0) {
+            distinct--;
+            delete(slot);
+        }
+        return key;
+    }
+
+    /**
+     * @param key Position key
+     * @return True if the position occurs in the history
+     */
+    public boolean contains(long key) {
+        return counts[find(key)] != 0;
+    }
+
+    /**
+     * @param board  Board to look up
+     * @param player Player to move on the board
+     * @return True if the position occurs in the history
+     */
+    public boolean isRepetition(Board board, Player player) {
+        return contains(key(board, player));
+    }
+
+    /**
+     * @param key Position key
+     * @return Number of times the position occurs in the history
+     */
+    public int count(long key) {
+        return counts[find(key)];
+    }
+
+    /**
+     * @return Number of positions on the stack
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Slot holding the key, or the empty slot where it would be inserted
+     */
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = index(key, mask);
+        while (counts[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Empties a slot and shifts back later entries of the same probe run so lookups never stop early
+     */
+    private void delete(int hole) {
+        int mask = keys.length - 1;
+        int next = (hole + 1) & mask;
+        while (counts[next] != 0) {
+            int home = index(keys[next], mask);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                counts[hole] = counts[next];
+                counts[next] = 0;
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        counts[hole] = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new long[capacity];
+        counts = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    /**
+     * @return Home slot of a key
+     */
+    private static int index(long key, int mask) {
+        return (int) PackedBoard.mix(key) & mask;
+    }
+}
@@ -12,6 +12,7 @@ import java.util.Arrays;
  *   <li>MIN_MAX_BLACK - MiniMax for Black's moves</li>
  *   <li>MIN_MAX_IMPROVED - MiniMax with enhanced static estimation</li>
  *   <li>ALPHA_BETA - Alpha-Beta pruning implementation</li>
+ *   <li>MCTS - Monte Carlo Tree Search</li>
  * </ul>
  * </p>
  */
@@ -35,7 +36,12 @@ public enum ProblemType {
     /**
      * Alpha-Beta pruning optimization implementation
      */
-    ALPHA_BETA("AlphaBeta");
+    ALPHA_BETA("AlphaBeta"),
+
+    /**
+     * Monte Carlo Tree Search with UCT selection and random playouts
+     */
+    MCTS("MonteCarlo");
 
     private final String name;
 
@@ -1,5 +1,8 @@
 package models;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Represents the outcome of a game tree search algorithm (MiniMax/Alpha-Beta).
  * <p>
@@ -8,6 +11,8 @@ package models;
  *   <li>The optimal board position found</li>
  *   <li>Static estimation value of that position</li>
  *   <li>Total number of positions evaluated during search</li>
+ *   <li>Optional {@link SearchStats} instrumentation of the search</li>
+ *   <li>The principal variation: the expected line of play starting with the best board</li>
  * </ul>
  *
  * <p>Example usage:</p>
@@ -19,7 +24,9 @@ package models;
 public class Result {
     private final int estimate;
     private final Board bestBoard;
-    private final int positionsEvaluated;
+    private final long positionsEvaluated;
+    private final SearchStats stats;
+    private final List<Board> principalVariation;
 
     /**
      * Constructs a search result container
@@ -28,20 +35,66 @@ public class Result {
      * @param bestBoard          Optimal board configuration found by the algorithm
      * @param positionsEvaluated Total number of board positions evaluated
      */
-    public Result(int estimate, Board bestBoard, int positionsEvaluated) {
+    public Result(int estimate, Board bestBoard, long positionsEvaluated) {
+        this(estimate, bestBoard, positionsEvaluated, null);
+    }
+
+    /**
+     * Constructs a search result container with attached search statistics
+     *
+     * @param estimate           Static estimation value of the best board position
+     * @param bestBoard          Optimal board configuration found by the algorithm
+     * @param positionsEvaluated Total number of board positions evaluated
+     * @param stats              Instrumentation of the search, or null
+     */
+    public Result(int estimate, Board bestBoard, long positionsEvaluated, SearchStats stats) {
+        this(estimate, bestBoard, positionsEvaluated, stats, Collections.emptyList());
+    }
+
+    /**
+     * Constructs a search result container with statistics and the principal variation
+     *
+     * @param estimate           Static estimation value of the best board position
+     * @param bestBoard          Optimal board configuration found by the algorithm
+     * @param positionsEvaluated Total number of board positions evaluated
+     * @param stats              Instrumentation of the search, or null
+     * @param principalVariation Positions along the expected line of play, starting with the best board
+     */
+    public Result(int estimate, Board bestBoard, long positionsEvaluated, SearchStats stats,
+                  List<Board> principalVariation) {
         this.estimate = estimate;
         this.bestBoard = bestBoard;
         this.positionsEvaluated = positionsEvaluated;
+        this.stats = stats;
+        this.principalVariation = Collections.unmodifiableList(principalVariation);
     }
 
     /**
      * @return Number of board positions evaluated during search.
      * Indicates algorithm performance.
      */
-    public int getPositionsEvaluated() {
+    public long getPositionsEvaluated() {
         return positionsEvaluated;
     }
 
+    /**
+     * @return Instrumentation of the search that produced this result; null for
+     * intermediate results of subtrees
+     */
+    public SearchStats getStats() {
+        return stats;
+    }
+
+    /**
+     * @return Positions along the expected line of play after the searched position, the best board
+     * first. It ends at the search depth, at a terminal position, or where the line was answered by the
+     * transposition table or the opening book; empty for intermediate results and searches that do not
+     * track it.
+     */
+    public List<Board> getPrincipalVariation() {
+        return principalVariation;
+    }
+
     /**
      * @return Optimal board configuration determined by the search algorithm.
      * Represents the best move to make.
@@ -0,0 +1,34 @@
+package models;
+
+/**
+ * Common contract of the depth-limited game tree searches ({@link MiniMaxAlgorithm}, {@link AlphaBetaAlgorithm}),
+ * so harnesses such as tournaments can drive any engine configuration.
+ */
+public interface SearchAlgorithm {
+    /**
+     * Searches for the best move of a player
+     *
+     * @param board  Position to search
+     * @param depth  Search depth
+     * @param player WHITE (maximizing) or BLACK (minimizing)
+     * @return Result containing best move, estimate, and evaluation metrics
+     */
+    Result computeBestMove(Board board, int depth, Player player);
+
+    /**
+     * Searches for the best move of a player, polling a stop signal (or deadline) during the search
+     *
+     * @param board   Position to search
+     * @param depth   Search depth
+     * @param player  WHITE (maximizing) or BLACK (minimizing)
+     * @param control Stop signal
+     * @return Result containing best move, estimate, and evaluation metrics
+     * @throws java.util.concurrent.CancellationException If the search was stopped before it completed
+     */
+    Result computeBestMove(Board board, int depth, Player player, SearchControl control);
+
+    /**
+     * @return Estimator used to evaluate positions
+     */
+    StaticEstimator getEstimator();
+}
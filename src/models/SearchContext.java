@@ -0,0 +1,289 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mutable state owned by a single search invocation.
+ * <p>
+ * Created once per {@code computeBestMove} call and threaded through the recursive kernels, so
+ * algorithm instances stay free of per-search fields and can be shared between threads. It also
+ * owns the search-level bookkeeping: timing, transposition table hit counts, the {@link SearchEvent}
+ * and {@link SearchMetrics}.
+ * </p>
+ */
+final class SearchContext {
+    /**
+     * Statistics attached to the final {@link Result}
+     */
+    final SearchStats stats;
+
+    /**
+     * Same object as {@link #stats} when per-ply counters are enabled, otherwise null.
+     * Kernels test this single reference before touching any counter.
+     */
+    final SearchStats counters;
+
+    /**
+     * True if sampled {@link NodeEvent}s are recorded during this search
+     */
+    final boolean sampleNodes;
+
+    /**
+     * True if sampled {@link EvaluationEvent}s are recorded during this search
+     */
+    final boolean sampleEvaluations;
+
+    /**
+     * Positions on the current search path (seeded with the game history), or null when
+     * repetition detection is disabled
+     */
+    final PositionHistory path;
+
+    /**
+     * Transposition table shared with other searches, or null when disabled
+     */
+    final TranspositionTable table;
+
+    /**
+     * Table lookups and hits of this search; recorded even when per-ply counters are disabled
+     */
+    long tableProbes, tableHits;
+
+    /**
+     * Repetitions scored as draws so far; a node whose subtree scored one depends on the path to it and is
+     * not stored in the table
+     */
+    long repetitionDraws;
+
+    /**
+     * Positions statically evaluated so far; kernels return primitive scores and count evaluations here,
+     * so a root search's positions evaluated is the difference across it
+     */
+    long evaluated;
+
+    /**
+     * Nodes visited so far, quiescence nodes included; counted even when per-ply counters are disabled
+     */
+    long nodes;
+
+    /**
+     * Best move found at ply 0 by the last root search, or null (depth 0, no legal moves)
+     */
+    Board rootMove;
+
+    /**
+     * Stop signal polled by the kernel, or null if the search cannot be stopped
+     */
+    final SearchControl control;
+
+    /**
+     * Triangular principal variation table: row p holds the best line found from ply p (at most
+     * depth - p packed positions) starting at {@link #pvOffset(int)}, and its length in {@link #pvLength}
+     */
+    private final long[] pvMoves;
+    private final int[] pvLength;
+
+    /**
+     * Principal variation of the previous iteration, searched first along its own path while
+     * {@link #followPv} holds
+     */
+    private long[] pvSeed = new long[0];
+
+    /**
+     * True while the kernel descends along the seeded principal variation
+     */
+    boolean followPv;
+
+    /**
+     * Trace receiving every node of this search, or null when tracing is disabled
+     */
+    SearchTrace trace;
+
+    private final ProblemType problemType;
+    private final StaticEstimator estimator;
+    private final Board board;
+    private final int depth;
+    private final Player player;
+    private final SearchMetrics metrics = SearchMetrics.global();
+    private final SearchEvent event = new SearchEvent();
+    private long startNanos;
+    private int nodeCountdown = NodeEvent.SAMPLE_INTERVAL;
+    private int evaluationCountdown = NodeEvent.SAMPLE_INTERVAL;
+    private int controlCountdown = SearchControl.CHECK_INTERVAL;
+
+    /**
+     * @param problemType  Problem type reported to metrics and Flight Recorder
+     * @param estimator    Estimator used by the search
+     * @param board        Root position
+     * @param depth        Requested depth
+     * @param player       Player to move at the root
+     * @param collectStats True to enable per-ply counters
+     */
+    SearchContext(ProblemType problemType, StaticEstimator estimator, Board board, int depth, Player player,
+                  boolean collectStats) {
+        this(problemType, estimator, board, depth, player, collectStats, null, null, null);
+    }
+
+    /**
+     * @param problemType  Problem type reported to metrics and Flight Recorder
+     * @param estimator    Estimator used by the search
+     * @param board        Root position
+     * @param depth        Requested depth
+     * @param player       Player to move at the root
+     * @param collectStats True to enable per-ply counters
+     * @param path         Search path history for repetition detection, or null to disable it
+     * @param table        Transposition table, or null to disable it
+     * @param control      Stop signal, or null
+     */
+    SearchContext(ProblemType problemType, StaticEstimator estimator, Board board, int depth, Player player,
+                  boolean collectStats, PositionHistory path, TranspositionTable table, SearchControl control) {
+        this.path = path;
+        this.table = table;
+        this.control = control;
+        this.problemType = problemType;
+        this.estimator = estimator;
+        this.board = board;
+        this.depth = depth;
+        this.player = player;
+        this.stats = new SearchStats(depth, collectStats);
+        this.counters = collectStats ? stats : null;
+        this.sampleNodes = NodeEvent.isTypeEnabled();
+        this.sampleEvaluations = EvaluationEvent.isTypeEnabled();
+        int rows = Math.max(depth, 0);
+        this.pvMoves = new long[rows * (rows + 1) / 2];
+        this.pvLength = new int[rows + 1];
+    }
+
+    /**
+     * Starts the clock and marks the search as in flight
+     */
+    void begin() {
+        metrics.searchStarted();
+        event.begin();
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Stops the clock, records metrics and events, and attaches statistics to the root result
+     *
+     * @param root Result returned by the root call of the kernel
+     * @return Root result with {@link #stats} attached
+     */
+    Result finish(Result root) {
+        long elapsed = System.nanoTime() - startNanos;
+        stats.setElapsedNanos(elapsed);
+        stats.setTableLookups(tableProbes, tableHits);
+        if (table != null) metrics.recordCacheLookups(tableProbes, tableHits);
+        Result result = new Result(root.getEstimate(), root.getBestBoard(), root.getPositionsEvaluated(), stats,
+                root.getPrincipalVariation().isEmpty() ? principalVariation() : root.getPrincipalVariation());
+        metrics.searchFinished(problemType, elapsed, result.getPositionsEvaluated());
+        SearchEvent.commit(event, problemType.getName(), estimator, board, depth, player, result, nodes);
+        return result;
+    }
+
+    /**
+     * Starts a node: its line is empty until a move becomes its best. Called on entry to every
+     * node, before any early return.
+     *
+     * @param ply Distance from the root
+     */
+    void pvClear(int ply) {
+        if (ply < pvLength.length) pvLength[ply] = 0;
+    }
+
+    /**
+     * Records a new best move of the node at {@code ply}: the move followed by the line of the child
+     * just searched
+     *
+     * @param ply  Distance from the root
+     * @param move Position after the move
+     */
+    void pvUpdate(int ply, Board move) {
+        int rows = pvLength.length - 1;
+        if (ply >= rows) return;
+        int row = pvOffset(ply);
+        pvMoves[row] = PackedBoard.pack(move);
+        int childLength = ply + 1 < rows ? pvLength[ply + 1] : 0;
+        if (childLength > 0) System.arraycopy(pvMoves, pvOffset(ply + 1), pvMoves, row + 1, childLength);
+        pvLength[ply] = childLength + 1;
+    }
+
+    /**
+     * @return Start of row p in {@link #pvMoves}; rows shrink by one entry per ply
+     */
+    private int pvOffset(int ply) {
+        int rows = pvLength.length - 1;
+        return ply * rows - ply * (ply - 1) / 2;
+    }
+
+    /**
+     * @return Line found from the root, decoded into boards
+     */
+    List<Board> principalVariation() {
+        List<Board> line = new ArrayList<>(pvLength[0]);
+        for (int i = 0; i < pvLength[0]; i++) line.add(PackedBoard.toBoard(pvMoves[i]));
+        return line;
+    }
+
+    /**
+     * Seeds the next iteration with the line found from the root and starts following it
+     */
+    void seedPv() {
+        pvSeed = Arrays.copyOf(pvMoves, pvLength[0]);
+        followPv = true;
+    }
+
+    /**
+     * @param ply   Distance from the root of a node reached along the seeded line
+     * @param moves Moves of the node in generation order
+     * @return Index of the seeded move at this ply, or -1 (which also stops following)
+     */
+    int pvSeedMove(int ply, List<Board> moves) {
+        if (ply < pvSeed.length) {
+            long target = pvSeed[ply];
+            for (int i = 0; i < moves.size(); i++) {
+                if (PackedBoard.pack(moves.get(i)) == target) return i;
+            }
+        }
+        followPv = false;
+        return -1;
+    }
+
+    /**
+     * Removes a search that ended exceptionally from the in-flight gauge
+     */
+    void abort() {
+        metrics.searchAborted();
+    }
+
+    /**
+     * Polls {@link #control} once every {@link SearchControl#CHECK_INTERVAL} calls; only called when it is set
+     *
+     * @throws java.util.concurrent.CancellationException If the search was stopped
+     */
+    void checkControl() {
+        if (--controlCountdown > 0) return;
+        controlCountdown = SearchControl.CHECK_INTERVAL;
+        control.check();
+    }
+
+    /**
+     * @return True once every sample interval; only called when {@link #sampleNodes} is set
+     */
+    boolean nodeSampleDue() {
+        if (--nodeCountdown > 0) return false;
+        nodeCountdown = NodeEvent.SAMPLE_INTERVAL;
+        return true;
+    }
+
+    /**
+     * @return True once every sample interval; only called when {@link #sampleEvaluations} is set
+     */
+    boolean evaluationSampleDue() {
+        if (--evaluationCountdown > 0) return false;
+        evaluationCountdown = NodeEvent.SAMPLE_INTERVAL;
+        return true;
+    }
+}
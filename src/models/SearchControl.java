@@ -0,0 +1,70 @@
+package models;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Cooperative stop signal for a running search, with an optional deadline.
+ * <p>
+ * The search kernel polls the control once every {@link #CHECK_INTERVAL} nodes, so checking costs a
+ * counter decrement per node and a volatile read (plus a clock read with a deadline) per interval. After
+ * {@link #stop()} or the deadline the search unwinds with a {@link CancellationException}; transposition
+ * table entries stored before that point stay valid.
+ * </p>
+ *
+ * <pre>
+ * SearchControl control = new SearchControl();
+ * executor.submit(() -> alphaBeta.computeBestMove(board, 12, Player.WHITE, null, control));
+ * control.stop();
+ * </pre>
+ */
+public class SearchControl {
+    /**
+     * Nodes searched between two polls of the stop flag
+     */
+    public static final int CHECK_INTERVAL = 1024;
+
+    private volatile boolean stopped;
+    private final long deadline;
+    private final boolean timed;
+
+    /**
+     * Creates a control without deadline, stopped only by {@link #stop()}
+     */
+    public SearchControl() {
+        this.deadline = 0;
+        this.timed = false;
+    }
+
+    /**
+     * Creates a control whose searches stop once the timeout has elapsed
+     *
+     * @param timeoutNanos Time allowed from now, in nanoseconds
+     */
+    public SearchControl(long timeoutNanos) {
+        this.deadline = System.nanoTime() + timeoutNanos;
+        this.timed = true;
+    }
+
+    /**
+     * Requests the search to stop; safe to call from any thread, more than once
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * @return True once {@link #stop()} was called or the deadline has passed
+     */
+    public boolean isStopped() {
+        return stopped || (timed && System.nanoTime() - deadline >= 0);
+    }
+
+    /**
+     * Called by the search at every poll
+     *
+     * @throws CancellationException If the search must stop
+     */
+    void check() {
+        if (isStopped()) throw new CancellationException("Search stopped");
+    }
+}
@@ -0,0 +1,82 @@
+package models;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event emitted once per {@code computeBestMove} call.
+ * <p>
+ * Enabled by default in the standard JFR profiles; recording costs one event object per search,
+ * so it is safe to leave on in production:
+ * </p>
+ * <pre>
+ * java -XX:StartFlightRecording=filename=jumpy.jfr -cp bin/ AlphaBeta input.txt output.txt 9
+ * jfr print --events jumpy.Search jumpy.jfr
+ * </pre>
+ */
+@Name("jumpy.Search")
+@Label("Jumpy Search")
+@Category({"Jumpy", "Search"})
+@Description("Completed game tree search")
+@StackTrace(false)
+public final class SearchEvent extends Event {
+    @Label("Board")
+    String board;
+
+    @Label("Depth")
+    int depth;
+
+    @Label("Player")
+    String player;
+
+    @Label("Algorithm")
+    @Description("Problem type name, e.g. AlphaBeta or MiniMaxBlack")
+    String algorithm;
+
+    @Label("Estimator")
+    String estimator;
+
+    @Label("Positions Evaluated")
+    long positionsEvaluated;
+
+    @Label("Nodes")
+    @Description("Positions visited, quiescence nodes included")
+    long nodes;
+
+    @Label("Estimate")
+    int estimate;
+
+    @Label("Table Probes")
+    @Description("Transposition table lookups; zero when no table is attached")
+    long tableProbes;
+
+    @Label("Table Hits")
+    long tableHits;
+
+    /**
+     * Fills and commits a search event that was begun before the search started.
+     * Does nothing (and builds no strings) when the event type is disabled.
+     */
+    static void commit(SearchEvent event, String algorithm, StaticEstimator estimator,
+                       Board board, int depth, Player player, Result result, long nodes) {
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.board = board.toString();
+        event.depth = depth;
+        event.player = player.name();
+        event.algorithm = algorithm;
+        event.estimator = estimator.getClass().getSimpleName();
+        event.positionsEvaluated = result.getPositionsEvaluated();
+        event.nodes = nodes;
+        event.estimate = result.getEstimate();
+        if (result.getStats() != null) {
+            event.tableProbes = result.getStats().getTableProbes();
+            event.tableHits = result.getStats().getTableHits();
+        }
+        event.commit();
+    }
+}
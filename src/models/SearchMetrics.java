@@ -0,0 +1,122 @@
+package models;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide counters around {@code computeBestMove}, exported by {@link MetricsServer}.
+ * <p>
+ * All counters are {@link LongAdder}s, so concurrent searches update striped cells with low
+ * contention. Each search costs a handful of adder updates at its start and end; nothing is
+ * recorded inside the search kernels.
+ * </p>
+ */
+public class SearchMetrics {
+    private static final SearchMetrics GLOBAL = new SearchMetrics();
+
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder positionsEvaluated = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder cacheProbes = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final Map<ProblemType, LatencyHistogram> latencies = new EnumMap<>(ProblemType.class);
+
+    /**
+     * Creates an independent metrics registry
+     */
+    public SearchMetrics() {
+        for (ProblemType type : ProblemType.values()) {
+            latencies.put(type, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * @return Registry updated by every search in this JVM
+     */
+    public static SearchMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Marks a search as in flight. Must be paired with {@link #searchFinished}.
+     */
+    public void searchStarted() {
+        inFlight.increment();
+    }
+
+    /**
+     * Records a finished search and removes it from the in-flight gauge
+     *
+     * @param type               Problem type used to select the latency histogram
+     * @param elapsedNanos       Search duration
+     * @param positionsEvaluated Static evaluations performed
+     */
+    public void searchFinished(ProblemType type, long elapsedNanos, long positionsEvaluated) {
+        inFlight.decrement();
+        searches.increment();
+        this.positionsEvaluated.add(positionsEvaluated);
+        latencies.get(type).record(elapsedNanos);
+    }
+
+    /**
+     * Removes a search that ended without a result (e.g. an exception) from the in-flight gauge
+     */
+    public void searchAborted() {
+        inFlight.decrement();
+    }
+
+    /**
+     * Adds lookups performed against a search cache
+     *
+     * @param probes Number of lookups
+     * @param hits   Number of lookups that found a usable entry
+     */
+    public void recordCacheLookups(long probes, long hits) {
+        cacheProbes.add(probes);
+        cacheHits.add(hits);
+    }
+
+    /**
+     * @return Completed searches
+     */
+    public long getSearches() {
+        return searches.sum();
+    }
+
+    /**
+     * @return Positions evaluated by all completed searches
+     */
+    public long getPositionsEvaluated() {
+        return positionsEvaluated.sum();
+    }
+
+    /**
+     * @return Searches currently running
+     */
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    /**
+     * @return Cache lookups recorded so far
+     */
+    public long getCacheProbes() {
+        return cacheProbes.sum();
+    }
+
+    /**
+     * @return Cache lookups that hit
+     */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * @param type Problem type
+     * @return Latency histogram of the problem type
+     */
+    public LatencyHistogram getLatency(ProblemType type) {
+        return latencies.get(type);
+    }
+}
@@ -0,0 +1,78 @@
+package models;
+
+/**
+ * Progress update published by an {@link AsyncSearch} after each completed iteration.
+ * <p>
+ * Immutable; counts are cumulative over all iterations so far.
+ * </p>
+ */
+public final class SearchProgress {
+    private final int depth;
+    private final Board bestBoard;
+    private final int estimate;
+    private final long positionsEvaluated;
+    private final long elapsedNanos;
+
+    /**
+     * @param depth              Depth of the completed iteration
+     * @param bestBoard          Best move found at that depth
+     * @param estimate           Estimate of the best move
+     * @param positionsEvaluated Positions evaluated by all iterations so far
+     * @param elapsedNanos       Time since the search started
+     */
+    public SearchProgress(int depth, Board bestBoard, int estimate, long positionsEvaluated, long elapsedNanos) {
+        this.depth = depth;
+        this.bestBoard = bestBoard;
+        this.estimate = estimate;
+        this.positionsEvaluated = positionsEvaluated;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return Depth of the completed iteration
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return Best move so far
+     */
+    public Board getBestBoard() {
+        return bestBoard;
+    }
+
+    /**
+     * @return Estimate of the best move so far, from White's perspective
+     */
+    public int getEstimate() {
+        return estimate;
+    }
+
+    /**
+     * @return Positions evaluated since the search started
+     */
+    public long getPositionsEvaluated() {
+        return positionsEvaluated;
+    }
+
+    /**
+     * @return Time since the search started, in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return Positions evaluated per second since the search started
+     */
+    public double getPositionsPerSecond() {
+        return elapsedNanos == 0 ? 0 : positionsEvaluated * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("depth %d, best %s, estimate %d, %d positions evaluated (%.0f/s)",
+                depth, bestBoard, estimate, positionsEvaluated, getPositionsPerSecond());
+    }
+}
@@ -0,0 +1,371 @@
+package models;
+
+import java.util.Arrays;
+
+/**
+ * Instrumentation collected during one game tree search.
+ * <p>
+ * Search-level figures (elapsed time, requested depth) are always recorded. Per-ply counters are
+ * only filled when the algorithm was asked to collect them (see
+ * {@link MiniMaxAlgorithm#setCollectStats(boolean)}); otherwise the search kernels skip every counter
+ * update and {@link #isEnabled()} returns false.
+ * </p>
+ *
+ * <p>Search-level figures also include the number of aspiration window re-searches, transposition
+ * table probes and hits, and opening book hits.</p>
+ *
+ * <p>Per-ply counters, indexed by distance from the root (ply 0):</p>
+ * <ul>
+ *   <li><b>nodes</b> - positions visited</li>
+ *   <li><b>leaves</b> - positions statically evaluated at the depth limit or without legal moves</li>
+ *   <li><b>terminals</b> - won/lost positions reached before the depth limit</li>
+ *   <li><b>beta cutoffs</b> - nodes whose remaining moves were pruned</li>
+ *   <li><b>first-move cutoffs</b> - cutoffs produced by the first move searched (move ordering quality)</li>
+ * </ul>
+ *
+ * <p>Selective searches additionally count late move reductions, their re-searches and futility prunes.
+ * Quiescence nodes (capture-only positions below the depth limit) are included in the per-ply node
+ * counts and also totalled separately. Positions repeating the search path or game history are
+ * scored as draws and counted as repetitions.</p>
+ */
+public class SearchStats {
+    private static final int INITIAL_PLIES = 16;
+
+    private final boolean enabled;
+    private final int depth;
+    private long[] nodes;
+    private long[] leaves;
+    private long[] terminals;
+    private long[] betaCutoffs;
+    private long[] firstMoveCutoffs;
+    private int maxPly = -1;
+    private long elapsedNanos;
+    private int researches;
+    private long reductions;
+    private long reductionResearches;
+    private long futilityPrunes;
+    private long quiescenceNodes;
+    private long repetitions;
+    private long tableProbes;
+    private long tableHits;
+    private long tableCutoffs;
+    private long bookHits;
+
+    /**
+     * Creates an empty statistics container
+     *
+     * @param depth   Requested search depth
+     * @param enabled True if per-ply counters are collected
+     */
+    public SearchStats(int depth, boolean enabled) {
+        this.depth = depth;
+        this.enabled = enabled;
+        int plies = enabled ? Math.min(Math.max(depth, 0) + 1, INITIAL_PLIES) : 0;
+        this.nodes = new long[plies];
+        this.leaves = new long[plies];
+        this.terminals = new long[plies];
+        this.betaCutoffs = new long[plies];
+        this.firstMoveCutoffs = new long[plies];
+    }
+
+    private void ensurePly(int ply) {
+        if (ply > maxPly) {
+            maxPly = ply;
+            if (ply >= nodes.length) {
+                int size = Math.max(ply + 1, nodes.length * 2);
+                nodes = Arrays.copyOf(nodes, size);
+                leaves = Arrays.copyOf(leaves, size);
+                terminals = Arrays.copyOf(terminals, size);
+                betaCutoffs = Arrays.copyOf(betaCutoffs, size);
+                firstMoveCutoffs = Arrays.copyOf(firstMoveCutoffs, size);
+            }
+        }
+    }
+
+    void node(int ply) {
+        ensurePly(ply);
+        nodes[ply]++;
+    }
+
+    void leaf(int ply) {
+        leaves[ply]++;
+    }
+
+    void terminal(int ply) {
+        terminals[ply]++;
+    }
+
+    void cutoff(int ply, boolean firstMove) {
+        betaCutoffs[ply]++;
+        if (firstMove) firstMoveCutoffs[ply]++;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    void research() {
+        researches++;
+    }
+
+    void reduction(boolean researched) {
+        reductions++;
+        if (researched) reductionResearches++;
+    }
+
+    void futilityPrune() {
+        futilityPrunes++;
+    }
+
+    void setTableLookups(long probes, long hits) {
+        this.tableProbes = probes;
+        this.tableHits = hits;
+    }
+
+    void bookHit() {
+        bookHits++;
+    }
+
+    void tableCutoff() {
+        tableCutoffs++;
+    }
+
+    void repetition() {
+        repetitions++;
+    }
+
+    void quiescenceNode() {
+        quiescenceNodes++;  // The node itself is counted once by node(), horizon nodes by the main search
+    }
+
+    /**
+     * @return True if per-ply counters were collected
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return Depth requested for the search
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return Deepest ply visited, or -1 if no counters were collected
+     */
+    public int getMaxPly() {
+        return maxPly;
+    }
+
+    /**
+     * @return Wall-clock duration of the search in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return Root re-searches caused by aspiration window failures (always recorded)
+     */
+    public int getResearches() {
+        return researches;
+    }
+
+    /**
+     * @return Late moves searched at reduced depth (selective search, counters enabled)
+     */
+    public long getReductions() {
+        return reductions;
+    }
+
+    /**
+     * @return Reduced moves that beat the window and were re-searched at full depth
+     */
+    public long getReductionResearches() {
+        return reductionResearches;
+    }
+
+    /**
+     * @return Frontier moves skipped by futility pruning (selective search, counters enabled)
+     */
+    public long getFutilityPrunes() {
+        return futilityPrunes;
+    }
+
+    /**
+     * @return Capture-only positions visited below the depth limit (quiescence, counters enabled)
+     */
+    public long getQuiescenceNodes() {
+        return quiescenceNodes;
+    }
+
+    /**
+     * @return Transposition table lookups (always recorded)
+     */
+    public long getTableProbes() {
+        return tableProbes;
+    }
+
+    /**
+     * @return Transposition table lookups that found an entry for the position (always recorded)
+     */
+    public long getTableHits() {
+        return tableHits;
+    }
+
+    /**
+     * @return Table hits deep enough to return a stored estimate without searching (counters enabled)
+     */
+    public long getTableCutoffs() {
+        return tableCutoffs;
+    }
+
+    /**
+     * @return Positions answered from the opening book, including the root (always recorded)
+     */
+    public long getBookHits() {
+        return bookHits;
+    }
+
+    /**
+     * @return Fraction of transposition table lookups that hit, or 0 without lookups
+     */
+    public double getTableHitRate() {
+        return tableProbes == 0 ? 0 : (double) tableHits / tableProbes;
+    }
+
+    /**
+     * @return Repeated positions scored as draws (repetition detection, counters enabled)
+     */
+    public long getRepetitions() {
+        return repetitions;
+    }
+
+    /**
+     * @param ply Distance from the root
+     * @return Positions visited at the ply
+     */
+    public long getNodes(int ply) {
+        return counter(nodes, ply);
+    }
+
+    /**
+     * @param ply Distance from the root
+     * @return Positions statically evaluated at the depth limit or without moves
+     */
+    public long getLeaves(int ply) {
+        return counter(leaves, ply);
+    }
+
+    /**
+     * @param ply Distance from the root
+     * @return Terminal (won/lost) positions reached
+     */
+    public long getTerminals(int ply) {
+        return counter(terminals, ply);
+    }
+
+    /**
+     * @param ply Distance from the root
+     * @return Nodes at the ply whose remaining moves were pruned
+     */
+    public long getBetaCutoffs(int ply) {
+        return counter(betaCutoffs, ply);
+    }
+
+    /**
+     * @param ply Distance from the root
+     * @return Cutoffs at the ply produced by the first move searched
+     */
+    public long getFirstMoveCutoffs(int ply) {
+        return counter(firstMoveCutoffs, ply);
+    }
+
+    private static long counter(long[] counters, int ply) {
+        return ply >= 0 && ply < counters.length ? counters[ply] : 0;
+    }
+
+    /**
+     * @return Positions visited across all plies
+     */
+    public long getTotalNodes() {
+        return sum(nodes);
+    }
+
+    /**
+     * @return Beta cutoffs across all plies
+     */
+    public long getTotalBetaCutoffs() {
+        return sum(betaCutoffs);
+    }
+
+    /**
+     * @return First-move cutoffs across all plies
+     */
+    public long getTotalFirstMoveCutoffs() {
+        return sum(firstMoveCutoffs);
+    }
+
+    private static long sum(long[] counters) {
+        long total = 0;
+        for (long c : counters) total += c;
+        return total;
+    }
+
+    /**
+     * Branching factor observed between two consecutive plies
+     *
+     * @param ply Parent ply
+     * @return nodes(ply + 1) / nodes(ply), or 0 if the ply was not visited
+     */
+    public double getBranchingFactor(int ply) {
+        long parents = getNodes(ply);
+        return parents == 0 ? 0 : (double) getNodes(ply + 1) / parents;
+    }
+
+    /**
+     * Effective branching factor: the geometric mean of the per-ply branching factors,
+     * (nodes at deepest ply / root nodes) ^ (1 / deepest ply).
+     *
+     * @return Effective branching factor, or 0 if fewer than two plies were visited
+     */
+    public double getEffectiveBranchingFactor() {
+        if (maxPly < 1 || nodes[0] == 0) return 0;
+        return Math.pow((double) nodes[maxPly] / nodes[0], 1.0 / maxPly);
+    }
+
+    /**
+     * @return Multi-line report with one row per ply, suitable for console output
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Search time: %.3f ms%n", elapsedNanos / 1e6));
+        if (researches > 0) sb.append(String.format("Aspiration re-searches: %d%n", researches));
+        if (bookHits > 0) sb.append(String.format("Opening book hits: %d%n", bookHits));
+        if (tableProbes > 0) {
+            sb.append(String.format("Transposition table: %d probes, %d hits (%.1f%%)%n",
+                    tableProbes, tableHits, 100 * getTableHitRate()));
+        }
+        if (!enabled) return sb.toString();
+        sb.append(String.format("%-5s %14s %14s %12s %12s %12s %8s%n",
+                "Ply", "Nodes", "Leaves", "Terminals", "Cutoffs", "FirstCut", "Branch"));
+        for (int ply = 0; ply <= maxPly; ply++) {
+            sb.append(String.format("%-5d %14d %14d %12d %12d %12d %8.2f%n",
+                    ply, nodes[ply], leaves[ply], terminals[ply],
+                    betaCutoffs[ply], firstMoveCutoffs[ply], getBranchingFactor(ply)));
+        }
+        sb.append(String.format("Total nodes: %d, effective branching factor: %.2f%n",
+                getTotalNodes(), getEffectiveBranchingFactor()));
+        if (reductions > 0 || futilityPrunes > 0) {
+            sb.append(String.format("Late move reductions: %d (re-searched %d), futility prunes: %d%n",
+                    reductions, reductionResearches, futilityPrunes));
+        }
+        if (quiescenceNodes > 0) sb.append(String.format("Quiescence nodes: %d%n", quiescenceNodes));
+        if (repetitions > 0) sb.append(String.format("Repetitions scored as draws: %d%n", repetitions));
+        if (tableCutoffs > 0) sb.append(String.format("Transposition table cutoffs: %d%n", tableCutoffs));
+        return sb.toString();
+    }
+}
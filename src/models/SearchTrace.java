@@ -0,0 +1,201 @@
+package models;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams every node a search visits to a binary trace file, for offline inspection with
+ * {@link SearchTraceReader}.
+ * <p>
+ * Attach a trace with {@link AlphaBetaAlgorithm#setTrace(SearchTrace)} or
+ * {@link MiniMaxAlgorithm#setTrace(SearchTrace)}. Nodes are written when the search leaves them, so a
+ * node's children precede it (post-order), and every search appends a tree rooted at ply 0. Records go
+ * through one fixed-size buffer that is written to the file channel whenever it fills, so memory stays
+ * bounded however large the tree. The file is big-endian:
+ * </p>
+ *
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "JMPR"
+ *      4     2  format version
+ *      6     2  reserved (zero)
+ *      8     4  estimator identity ({@link StaticEstimator#identity()})
+ *     12     4  reserved (zero)
+ *     16  24*n  records: long packed position with side to move, short ply, byte depth, byte flags,
+ *               int alpha, int beta, int score
+ * </pre>
+ *
+ * <p>Flags mark a {@link #CUTOFF} (the score reached the bound of the side to move, so remaining moves
+ * were skipped), a {@link #FAIL} (the score is no better than the other bound) and {@link #QUIESCENCE}
+ * nodes searched past the depth limit. Not thread-safe: attach one trace to one search at a time.
+ * Without a trace, searches skip recording entirely.</p>
+ */
+public final class SearchTrace implements Closeable {
+    /**
+     * File magic, the ASCII bytes "JMPR"
+     */
+    public static final int MAGIC = 0x4A4D5052;
+
+    /**
+     * Current format version
+     */
+    public static final short VERSION = 1;
+
+    /**
+     * Size of the fixed header in bytes
+     */
+    public static final int HEADER_SIZE = 16;
+
+    /**
+     * Size of one node record in bytes
+     */
+    public static final int RECORD_SIZE = 24;
+
+    /**
+     * Flag: the score reached the side to move's bound (beta for White, alpha for Black)
+     */
+    public static final int CUTOFF = 1;
+
+    /**
+     * Flag: the score is no better for the side to move than its own bound, so it is only a bound
+     */
+    public static final int FAIL = 2;
+
+    /**
+     * Flag: capture-only node below the depth limit
+     */
+    public static final int QUIESCENCE = 4;
+
+    /**
+     * Default buffer size in bytes
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final int identity;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long nodes;
+
+    /**
+     * Creates or truncates a trace file with the default buffer
+     *
+     * @param path      Trace file
+     * @param estimator Estimator of the traced searches, recorded in the header
+     * @throws IOException If the file cannot be written
+     */
+    public SearchTrace(Path path, StaticEstimator estimator) throws IOException {
+        this(path, estimator, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates or truncates a trace file
+     *
+     * @param path       Trace file
+     * @param estimator  Estimator of the traced searches, recorded in the header
+     * @param bufferSize Bytes buffered before each write, at least one record
+     * @throws IOException If the file cannot be written
+     */
+    public SearchTrace(Path path, StaticEstimator estimator, int bufferSize) throws IOException {
+        if (bufferSize < RECORD_SIZE) throw new IllegalArgumentException("Trace buffer must hold at least one record");
+        this.identity = estimator.identity();
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(bufferSize - bufferSize % RECORD_SIZE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putShort((short) 0);
+        header.putInt(identity);
+        header.putInt(0);
+        header.flip();
+        try {
+            while (header.hasRemaining()) channel.write(header);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @param estimator Estimator of a search about to be traced
+     * @return True if the trace was opened with an estimator of the same identity
+     */
+    boolean matches(StaticEstimator estimator) {
+        return estimator.identity() == identity;
+    }
+
+    /**
+     * Records a node the search is leaving
+     *
+     * @param board        Position of the node
+     * @param player       Player to move
+     * @param ply          Distance from the root
+     * @param depth        Remaining depth (0 below the depth limit)
+     * @param alpha        Window lower bound on entry
+     * @param beta         Window upper bound on entry
+     * @param score        Estimate the node returned
+     * @param isMaximizing True if the player to move maximizes
+     * @param quiescence   True for capture-only nodes below the depth limit
+     * @throws UncheckedIOException If the buffer cannot be written out
+     */
+    void node(Board board, Player player, int ply, int depth, int alpha, int beta, int score,
+              boolean isMaximizing, boolean quiescence) {
+        int flags = quiescence ? QUIESCENCE : 0;
+        if (isMaximizing ? score >= beta : score <= alpha) flags |= CUTOFF;
+        else if (isMaximizing ? score <= alpha : score >= beta) flags |= FAIL;
+        if (!buffer.hasRemaining()) drain();
+        buffer.putLong(PackedBoard.pack(board, player));
+        buffer.putShort((short) ply);
+        buffer.put((byte) depth);
+        buffer.put((byte) flags);
+        buffer.putInt(alpha);
+        buffer.putInt(beta);
+        buffer.putInt(score);
+        nodes++;
+    }
+
+    /**
+     * @return Nodes recorded so far
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Writes buffered records to the file
+     *
+     * @throws IOException If writing fails
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    private void drain() {
+        try {
+            flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write search trace", e);
+        }
+    }
+
+    /**
+     * Flushes buffered records and closes the file
+     *
+     * @throws IOException If writing or closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
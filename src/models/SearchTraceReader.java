@@ -0,0 +1,302 @@
+package models;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads a trace written by {@link SearchTrace}: streams its node records or rebuilds the search trees.
+ * <p>
+ * Records are post-order, so the children of a node are the records directly before it at deeper plies
+ * that no earlier node claimed. {@link #readTree(int)} rebuilds the trees with a stack on that rule; every
+ * search contributes one root at ply 0 (an aspiration search one per iteration and re-search). Nodes left
+ * over by a search that was stopped are claimed by the next root, or returned as roots of their own at the
+ * end of the file.
+ * </p>
+ */
+public final class SearchTraceReader implements Closeable {
+    private final FileChannel channel;
+    private final int estimatorIdentity;
+    private final long size;
+
+    /**
+     * Opens a trace and validates its header
+     *
+     * @param path Trace file
+     * @throws IOException              If the file cannot be read
+     * @throws IllegalArgumentException If the file is not a search trace of this format version
+     */
+    public SearchTraceReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(SearchTrace.HEADER_SIZE);
+            readFully(header, 0);
+            header.flip();
+            if (header.getInt() != SearchTrace.MAGIC) {
+                throw new IllegalArgumentException(path + " is not a search trace");
+            }
+            short version = header.getShort();
+            if (version != SearchTrace.VERSION) {
+                throw new IllegalArgumentException("Unsupported search trace version " + version);
+            }
+            header.getShort();
+            this.estimatorIdentity = header.getInt();
+            // A trailing partial record is a write cut short; it is ignored
+            this.size = (channel.size() - SearchTrace.HEADER_SIZE) / SearchTrace.RECORD_SIZE;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return Identity of the estimator the traced searches used ({@link StaticEstimator#identity()})
+     */
+    public int getEstimatorIdentity() {
+        return estimatorIdentity;
+    }
+
+    /**
+     * @return Number of node records
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Streams every record in file order (post-order); the nodes have no children
+     *
+     * @param action Called once per record
+     * @throws IOException If the file cannot be read
+     */
+    public void forEach(Consumer<Node> action) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(
+                SearchTrace.DEFAULT_BUFFER_SIZE / SearchTrace.RECORD_SIZE * SearchTrace.RECORD_SIZE);
+        long position = SearchTrace.HEADER_SIZE;
+        long remaining = size;
+        while (remaining > 0) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), remaining * SearchTrace.RECORD_SIZE));
+            readFully(buffer, position);
+            position += buffer.position();
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                action.accept(new Node(buffer.getLong(), buffer.getShort() & 0xFFFF, buffer.get() & 0xFF,
+                        buffer.get(), buffer.getInt(), buffer.getInt(), buffer.getInt()));
+                remaining--;
+            }
+        }
+    }
+
+    /**
+     * Rebuilds every search tree in the trace
+     *
+     * @return Roots in file order
+     * @throws IOException If the file cannot be read
+     */
+    public List<Node> readTree() throws IOException {
+        return readTree(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Rebuilds the search trees down to a ply, so the upper plies of a large trace can be inspected in
+     * bounded memory. Deeper nodes are still counted in {@link Node#getSubtreeSize()}.
+     *
+     * @param maxPly Deepest ply whose nodes are kept as children
+     * @return Roots in file order
+     * @throws IOException If the file cannot be read
+     */
+    public List<Node> readTree(int maxPly) throws IOException {
+        List<Node> stack = new ArrayList<>();
+        forEach(node -> {
+            int first = stack.size();
+            while (first > 0 && stack.get(first - 1).ply > node.ply) first--;
+            List<Node> children = stack.subList(first, stack.size());
+            for (Node child : children) {
+                node.subtreeSize += child.subtreeSize;
+            }
+            if (node.ply < maxPly) node.children = new ArrayList<>(children);
+            children.clear();
+            stack.add(node);
+        });
+        return stack;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) throw new EOFException("Search trace is truncated");
+        }
+    }
+
+    /**
+     * One node record of a trace, with its children when read by {@link #readTree(int)}
+     */
+    public static final class Node {
+        private final long packed;
+        private final int ply;
+        private final int depth;
+        private final int flags;
+        private final int alpha;
+        private final int beta;
+        private final int score;
+        private List<Node> children = Collections.emptyList();
+        private long subtreeSize = 1;
+
+        Node(long packed, int ply, int depth, int flags, int alpha, int beta, int score) {
+            this.packed = packed;
+            this.ply = ply;
+            this.depth = depth;
+            this.flags = flags;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.score = score;
+        }
+
+        /**
+         * @return Position and side to move, as {@link PackedBoard#pack(Board, Player)} encodes them
+         */
+        public long getPacked() {
+            return packed;
+        }
+
+        /**
+         * @return Position of the node
+         */
+        public Board getBoard() {
+            return PackedBoard.toBoard(packed);
+        }
+
+        /**
+         * @return Player to move
+         */
+        public Player getPlayer() {
+            return PackedBoard.sideToMove(packed);
+        }
+
+        /**
+         * @return Distance from the root
+         */
+        public int getPly() {
+            return ply;
+        }
+
+        /**
+         * @return Remaining depth, 0 at leaves and quiescence nodes
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        /**
+         * @return Window lower bound on entry
+         */
+        public int getAlpha() {
+            return alpha;
+        }
+
+        /**
+         * @return Window upper bound on entry
+         */
+        public int getBeta() {
+            return beta;
+        }
+
+        /**
+         * @return Estimate the node returned, from White's perspective
+         */
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * @return True if the score reached the side to move's bound, so remaining moves were skipped
+         */
+        public boolean isCutoff() {
+            return (flags & SearchTrace.CUTOFF) != 0;
+        }
+
+        /**
+         * @return True if the score is no better for the side to move than its own bound
+         */
+        public boolean isFail() {
+            return (flags & SearchTrace.FAIL) != 0;
+        }
+
+        /**
+         * @return True for capture-only nodes below the depth limit
+         */
+        public boolean isQuiescence() {
+            return (flags & SearchTrace.QUIESCENCE) != 0;
+        }
+
+        /**
+         * @return Children in search order; empty for leaves, streamed nodes and nodes below the kept plies
+         */
+        public List<Node> getChildren() {
+            return Collections.unmodifiableList(children);
+        }
+
+        /**
+         * @return Nodes in this subtree including this one, counting plies that were not kept
+         */
+        public long getSubtreeSize() {
+            return subtreeSize;
+        }
+
+        /**
+         * Finds the nodes of a position in this subtree
+         *
+         * @param board  Position to find
+         * @param player Side to move in it
+         * @return Matching nodes in post-order
+         */
+        public List<Node> find(Board board, Player player) {
+            List<Node> found = new ArrayList<>();
+            collect(PackedBoard.pack(board, player), found);
+            return found;
+        }
+
+        private void collect(long key, List<Node> found) {
+            for (Node child : children) {
+                child.collect(key, found);
+            }
+            if (packed == key) found.add(this);
+        }
+
+        /**
+         * @return Position, side, depth, window, score and flags on one line
+         */
+        @Override
+        public String toString() {
+            StringBuilder line = new StringBuilder()
+                    .append(getBoard())
+                    .append(' ').append(getPlayer() == Player.WHITE ? 'W' : 'B')
+                    .append(" ply ").append(ply)
+                    .append(" depth ").append(depth)
+                    .append(" [").append(bound(alpha)).append(", ").append(bound(beta)).append("] ")
+                    .append(score);
+            if (isCutoff()) line.append(" cutoff");
+            if (isFail()) line.append(" fail");
+            if (isQuiescence()) line.append(" quiescence");
+            return line.toString();
+        }
+
+        private static String bound(int value) {
+            return value == Integer.MIN_VALUE ? "-inf" : value == Integer.MAX_VALUE ? "+inf" : String.valueOf(value);
+        }
+    }
+}
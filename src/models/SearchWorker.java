@@ -0,0 +1,176 @@
+package models;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Worker process of a {@link DistributedSearch}: accepts coordinator connections and searches the subtrees
+ * they send.
+ * <p>
+ * Each connection is served by its own thread and runs one job at a time, so a coordinator opens as many
+ * connections to a worker as it should use cores there. The protocol is big-endian binary over TCP:
+ * </p>
+ *
+ * <pre>
+ * coordinator → worker  handshake: int magic "JMPW", short version, int estimator identity
+ * worker → coordinator  int status: 0 accepted, 1 rejected (other version or estimator; connection closed)
+ * coordinator → worker  job: byte 1, long id, long packed position with side to move, byte algorithm
+ *                            (0 MiniMax, 1 Alpha-Beta), int depth, int alpha, int beta
+ * worker → coordinator  byte 0, long id, int estimate, long positions evaluated
+ *                       or byte 1, long id, UTF error message
+ * coordinator → worker  byte 0: close the connection
+ * </pre>
+ *
+ * <p>MiniMax jobs ignore the window; Alpha-Beta jobs search within it (estimates at or outside a bound are
+ * only bounds).</p>
+ */
+public final class SearchWorker implements Closeable {
+    /**
+     * Handshake magic, the ASCII bytes "JMPW"
+     */
+    public static final int MAGIC = 0x4A4D5057;
+
+    /**
+     * Protocol version
+     */
+    public static final short VERSION = 1;
+
+    static final int STATUS_ACCEPTED = 0;
+    static final int STATUS_REJECTED = 1;
+    static final byte OP_CLOSE = 0;
+    static final byte OP_JOB = 1;
+    static final byte REPLY_RESULT = 0;
+    static final byte REPLY_ERROR = 1;
+    static final byte MINIMAX = 0;
+    static final byte ALPHA_BETA = 1;
+
+    private final StaticEstimator estimator;
+    private final ServerSocket server;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Binds the worker; jobs are served once {@link #run()} or {@link #start()} is called
+     *
+     * @param estimator Estimator of the searches; coordinators using another one are rejected
+     * @param address   Address to listen on (port 0 picks a free port)
+     * @throws IOException If the address cannot be bound
+     */
+    public SearchWorker(StaticEstimator estimator, InetSocketAddress address) throws IOException {
+        this.estimator = estimator;
+        this.server = new ServerSocket();
+        server.setReuseAddress(true);
+        server.bind(address);
+    }
+
+    /**
+     * @return Port the worker listens on
+     */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Accepts connections on a background daemon thread
+     */
+    public void start() {
+        Thread acceptor = new Thread(this::run, "search-worker-" + getPort());
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Accepts connections on the calling thread until the worker is closed
+     */
+    public void run() {
+        while (!server.isClosed()) {
+            Socket socket;
+            try {
+                socket = server.accept();
+            } catch (IOException e) {
+                if (server.isClosed()) return;
+                continue;  // Transient accept failure
+            }
+            connections.add(socket);
+            Thread handler = new Thread(() -> serve(socket), "search-worker-" + getPort() + "-" + socket.getPort());
+            handler.setDaemon(true);
+            handler.start();
+        }
+    }
+
+    /**
+     * Stops accepting and drops every connection; jobs in progress finish but their results are lost
+     */
+    @Override
+    public void close() throws IOException {
+        server.close();
+        for (Socket socket : connections) {
+            socket.close();
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket s = socket) {
+            s.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+            int magic = in.readInt();
+            short version = in.readShort();
+            int identity = in.readInt();
+            boolean accepted = magic == MAGIC && version == VERSION && identity == estimator.identity();
+            out.writeInt(accepted ? STATUS_ACCEPTED : STATUS_REJECTED);
+            out.flush();
+            if (!accepted) return;
+
+            MiniMaxAlgorithm miniMax = new MiniMaxAlgorithm(estimator);
+            AlphaBetaAlgorithm alphaBeta = new AlphaBetaAlgorithm(estimator);
+            while (in.readByte() == OP_JOB) {
+                long id = in.readLong();
+                long packed = in.readLong();
+                byte algorithm = in.readByte();
+                int depth = in.readInt();
+                int alpha = in.readInt();
+                int beta = in.readInt();
+                Result result;
+                try {
+                    Board board = PackedBoard.toBoard(packed);
+                    Player player = PackedBoard.sideToMove(packed);
+                    if (algorithm == MINIMAX) {
+                        result = miniMax.computeBestMove(board, depth, player);
+                    } else if (algorithm == ALPHA_BETA) {
+                        result = alphaBeta.computeWindow(board, depth, player, alpha, beta, null);
+                    } else {
+                        throw new IllegalArgumentException("Unknown search algorithm " + algorithm);
+                    }
+                } catch (RuntimeException e) {
+                    out.writeByte(REPLY_ERROR);
+                    out.writeLong(id);
+                    out.writeUTF(String.valueOf(e.getMessage()));
+                    out.flush();
+                    continue;
+                }
+                out.writeByte(REPLY_RESULT);
+                out.writeLong(id);
+                out.writeInt(result.getEstimate());
+                out.writeLong(result.getPositionsEvaluated());
+                out.flush();
+            }
+        } catch (EOFException | SocketException e) {
+            // Coordinator went away or the worker is closing
+        } catch (IOException e) {
+            System.err.println("Search worker connection failed: " + e.getMessage());
+        } finally {
+            connections.remove(socket);
+        }
+    }
+}
@@ -24,4 +24,15 @@ public interface StaticEstimator {
      * <p>Basic implementation might return: White king at position 3, Black king at position 12 → 3 + 12 - 15 = 0</p>
      */
     int estimate(Board board);
+
+    /**
+     * Identifies the evaluation function in persisted search results (opening books, table files), so
+     * results computed with another function are rejected. Estimators whose estimates depend on
+     * configuration must include it.
+     *
+     * @return Identifier; by default the hash of the class name
+     */
+    default int identity() {
+        return getClass().getName().hashCode();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package models;
+
+/**
+ * Cache of search results keyed by position, shared between searches and threads.
+ * <p>
+ * Keys are {@link PositionHistory#key(Board, Player)} values (packed board plus side to move).
+ * Entries are single {@code long}s built with {@link #entry(int, int, int, int)}:
+ * </p>
+ * <ul>
+ *   <li>bits 0-31: estimate</li>
+ *   <li>bits 32-39: remaining depth the estimate was searched to</li>
+ *   <li>bits 40-41: bound type ({@link #EXACT}, {@link #LOWER} or {@link #UPPER}); 0 marks a miss</li>
+ *   <li>bits 42-49: index of the best move in generation order plus one (0 = none)</li>
+ * </ul>
+ *
+ * <p>Implementations may drop or overwrite entries at any time, but must never return an entry
+ * stored for a different key.</p>
+ */
+public interface TranspositionTable {
+    /**
+     * Estimate is the exact minimax value
+     */
+    int EXACT = 1;
+
+    /**
+     * Estimate is a lower bound (the search failed high)
+     */
+    int LOWER = 2;
+
+    /**
+     * Estimate is an upper bound (the search failed low)
+     */
+    int UPPER = 3;
+
+    /**
+     * Looks up a position
+     *
+     * @param key Position key
+     * @return Stored entry, or 0 if the position is not cached
+     */
+    long probe(long key);
+
+    /**
+     * Stores an entry, possibly replacing the entry of another position sharing its slot
+     *
+     * @param key   Position key
+     * @param entry Entry built with {@link #entry(int, int, int, int)}
+     */
+    void store(long key, long entry);
+
+    /**
+     * Removes every entry
+     */
+    void clear();
+
+    /**
+     * @return Number of entries the table can hold
+     */
+    long capacity();
+
+    /**
+     * Builds an entry
+     *
+     * @param estimate Estimate from White's perspective
+     * @param depth    Remaining depth searched (clamped to 0-255)
+     * @param bound    {@link #EXACT}, {@link #LOWER} or {@link #UPPER}
+     * @param bestMove Index of the best move in generation order, or -1 if unknown
+     * @return Packed entry
+     */
+    static long entry(int estimate, int depth, int bound, int bestMove) {
+        return (estimate & 0xFFFFFFFFL)
+                | (long) Math.max(0, Math.min(depth, 255)) << 32
+                | (long) bound << 40
+                | (long) ((bestMove + 1) & 0xFF) << 42;
+    }
+
+    /**
+     * @return Estimate stored in an entry
+     */
+    static int estimate(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * @return Remaining depth stored in an entry
+     */
+    static int depth(long entry) {
+        return (int) (entry >>> 32) & 0xFF;
+    }
+
+    /**
+     * @return Bound type stored in an entry, 0 for a miss
+     */
+    static int bound(long entry) {
+        return (int) (entry >>> 40) & 0x3;
+    }
+
+    /**
+     * @return Best move index stored in an entry, or -1 if none
+     */
+    static int bestMove(long entry) {
+        return ((int) (entry >>> 42) & 0xFF) - 1;
+    }
+}
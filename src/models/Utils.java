@@ -6,6 +6,7 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
 
@@ -23,21 +24,24 @@ public class Utils {
     /**
      * Converts command-line arguments to a parameter map. Supports both CLI arguments and interactive input.
      * <p> For input "MiniMax board1.txt board2.txt 2", returns map with: {inputDir: "board1.txt", outputDir: "board2.txt", depth: "2"}
+     * <p> Optional flags may follow the three positional arguments as {@code --name} or {@code --name=value};
+     * they are stored under their name with value "true" when no value is given (e.g. "--stats" → {stats: "true"}).
      *
-     * @param args Command-line arguments in format: [input_file] [output_file] [depth]
-     * @return Map with keys: "inputDir", "outputDir", "depth"
+     * @param args Command-line arguments in format: [input_file] [output_file] [depth] [--flags...]
+     * @return Map with keys: "inputDir", "outputDir", "depth" and any flag names
      * @throws IllegalArgumentException If invalid number of arguments or malformed input
      */
     public static Map<String, String> convertArgsToMap(String[] args) {
         Map<String, String> map = new HashMap<>();
         if (args.length > 0) {
-            if (args.length != 3) {
+            if (args.length < 3) {
                 throw new IllegalArgumentException("Invalid argument count - "
                         + "Required format: [input_file] [output_file] [depth]");
             }
             map.put("inputDir", args[0]);
             map.put("outputDir", args[1]);
             map.put("depth", args[2]);
+            map.putAll(parseFlags(args, 3));
         } else {
             // Interactive mode
             Scanner scanner = new Scanner(System.in);
@@ -45,17 +49,43 @@ public class Utils {
             String[] tokens = scanner.nextLine().split(" ");
             scanner.close();
 
-            if (tokens.length != 3) {
+            if (tokens.length < 3) {
                 throw new IllegalArgumentException("Invalid input format - "
                         + "Expected: [command] [input_file] [output_file] [depth]");
             }
             map.put("inputDir", tokens[0]);
             map.put("outputDir", tokens[1]);
             map.put("depth", tokens[2]);
+            map.putAll(parseFlags(tokens, 3));
         }
         return map;
     }
 
+    /**
+     * Parses optional "--name[=value]" flags following a tool's positional arguments
+     *
+     * @param tokens All arguments including the positional ones
+     * @param start  Index of the first flag
+     * @return Map from flag name to value ("true" for flags without a value)
+     * @throws IllegalArgumentException If an argument from {@code start} on is not a flag
+     */
+    public static Map<String, String> parseFlags(String[] tokens, int start) {
+        Map<String, String> flags = new HashMap<>();
+        for (int i = start; i < tokens.length; i++) {
+            String token = tokens[i];
+            if (!token.startsWith("--") || token.length() == 2) {
+                throw new IllegalArgumentException("Invalid option '" + token + "' - Expected --name or --name=value");
+            }
+            int eq = token.indexOf('=');
+            if (eq < 0) {
+                flags.put(token.substring(2), "true");
+            } else {
+                flags.put(token.substring(2, eq), token.substring(eq + 1));
+            }
+        }
+        return flags;
+    }
+
     /**
      * Writes game results to file and console. Ensures UTF-8 encoding for file output.
      *
@@ -65,10 +95,31 @@ public class Utils {
      * @throws IOException If file write operation fails
      */
     public static void output(Result result, String outputBoardName, ProblemType problemType) throws IOException {
+        output(result, outputBoardName, problemType, false);
+    }
+
+    /**
+     * Writes game results to file and console, optionally in the extended format that also prints the
+     * principal variation (positions separated by spaces, the output board first) after the estimate.
+     *
+     * @param result             Complete game result containing best move and metrics
+     * @param outputBoardName    Target output file path
+     * @param problemType        Algorithm type for proper metric labeling
+     * @param principalVariation True to print the expected line of play
+     * @throws IOException If file write operation fails
+     */
+    public static void output(Result result, String outputBoardName, ProblemType problemType,
+                              boolean principalVariation) throws IOException {
         // Console output
         System.out.println("Output board position: " + result.getBestBoard().toString());
         System.out.println("Positions evaluated by static estimation: " + result.getPositionsEvaluated());
         System.out.println(problemType.getName() + " estimate: " + result.getEstimate());
+        if (principalVariation) {
+            System.out.println("Principal variation: " + formatLine(result.getPrincipalVariation()));
+        }
+        if (result.getStats() != null && result.getStats().isEnabled()) {
+            System.out.print(result.getStats());
+        }
 
         // File output
         Files.write(
@@ -77,6 +128,19 @@ public class Utils {
         );
     }
 
+    /**
+     * @param line Positions of a line of play
+     * @return Positions separated by spaces
+     */
+    public static String formatLine(List<Board> line) {
+        StringBuilder text = new StringBuilder();
+        for (Board board : line) {
+            if (text.length() > 0) text.append(' ');
+            text.append(board);
+        }
+        return text.toString();
+    }
+
     /**
      * Reads board configuration from file using UTF-8 encoding.
      *
@@ -92,47 +156,39 @@ public class Utils {
     }
 
     /**
-     * Validates board configuration against game rules.
+     * Validates board configuration against game rules in a single table-driven pass.
      *
      * @param inputOneString Board string to validate
      * @throws IllegalArgumentException If any validation fails:
      *                                  <ul>
      *                                    <li>Incorrect length (16 characters)</li>
+     *                                    <li>Invalid piece characters</li>
      *                                    <li>Multiple kings of same color</li>
      *                                    <li>Excessive pawn counts (>3 per color)</li>
      *                                  </ul>
+     * @see BoardParser
      */
     public static void validateInputString(String inputOneString) {
-        if (inputOneString.length() != 16) {
-            throw new IllegalArgumentException("Invalid board - Must contain 16 positions");
-        }
-        if (countPiece(inputOneString, Piece.WHITE_KING) > 1) {
-            throw new IllegalArgumentException("Invalid White pieces - Maximum 1 king allowed");
-        }
-        if (countPiece(inputOneString, Piece.BLACK_KING) > 1) {
-            throw new IllegalArgumentException("Invalid Black pieces - Maximum 1 king allowed");
-        }
-        if (countPiece(inputOneString, Piece.WHITE_PAWN) > 3) {
-            throw new IllegalArgumentException("Invalid White pawns - Maximum 3 allowed");
-        }
-        if (countPiece(inputOneString, Piece.BLACK_PAWN) > 3) {
-            throw new IllegalArgumentException("Invalid Black pawns - Maximum 3 allowed");
+        BoardParser parser = new BoardParser();
+        if (!parser.parse(inputOneString)) {
+            throw new IllegalArgumentException(parser.getErrorMessage());
         }
     }
 
     /**
-     * Counts occurrences of a specific piece type in board string
+     * Validates a board configuration for a non-standard variant
      *
-     * @param inputOneString Board configuration to analyze
-     * @param piece          Target piece type to count
-     * @return Number of occurrences (0-16)
+     * @param inputOneString Board string to validate
+     * @param geometry       Number of squares and pawns per side of the variant
+     * @throws IllegalArgumentException If the length, a character, or a piece count is invalid
+     * @see BoardGeometry#validate(CharSequence)
      */
-    private static int countPiece(String inputOneString, Piece piece) {
-        ArrayList<Piece> pieces = new ArrayList<>();
-        for (char c : inputOneString.toCharArray()) {
-            pieces.add(Piece.fromChar(c));
+    public static void validateInputString(String inputOneString, BoardGeometry geometry) {
+        if (geometry.equals(BoardGeometry.STANDARD)) {
+            validateInputString(inputOneString);
+        } else {
+            geometry.validate(inputOneString);
         }
-        return countPiece(pieces, piece);
     }
 
     /**
@@ -0,0 +1,85 @@
+package models;
+
+import java.util.List;
+
+/**
+ * Alpha-Beta search over {@link WideBoard} positions of any geometry, with the basic estimator generalised
+ * to N squares.
+ * <p>
+ * The search and tie-breaking are those of {@link AlphaBetaAlgorithm} without options, and
+ * {@link #estimate(WideBoard)} is {@link BasicEstimator} with the king sum centred on N - 1 instead of 15,
+ * so on the standard geometry both return the same move, estimate and positions evaluated. Thread-safe:
+ * searches keep their state in local variables.
+ * </p>
+ */
+public final class WideAlphaBeta {
+    /**
+     * Searches a position
+     *
+     * @param board  Current position
+     * @param depth  Search depth
+     * @param player WHITE (maximizing) or BLACK (minimizing)
+     * @return Best move with its estimate and search counts
+     */
+    public WideResult computeBestMove(WideBoard board, int depth, Player player) {
+        long[] counts = new long[2];  // Positions evaluated, nodes
+        WideBoard[] best = new WideBoard[1];
+        int estimate = alphaBeta(board, depth, Integer.MIN_VALUE, Integer.MAX_VALUE, player, counts, best, true);
+        return new WideResult(estimate, best[0], counts[0], counts[1]);
+    }
+
+    /**
+     * Basic static estimate: ±100 once a king has exited, otherwise the sum of the king squares
+     * centred on the board (positive when both kings are nearer Black's side)
+     *
+     * @param board Position to evaluate
+     * @return Estimate from White's perspective
+     */
+    public static int estimate(WideBoard board) {
+        if (board.isWhiteWin()) return 100;
+        if (board.isBlackWin()) return -100;
+        return board.getWhiteKingPosition() + board.getBlackKingPosition() - (board.size() - 1);
+    }
+
+    /**
+     * @param counts Positions evaluated and nodes, accumulated
+     * @param best   Receives the root's best move
+     * @param root   True at the root, where the best move is recorded
+     * @return Estimate of the subtree
+     */
+    private int alphaBeta(WideBoard board, int depth, int alpha, int beta, Player player,
+                          long[] counts, WideBoard[] best, boolean root) {
+        counts[1]++;
+        if (depth == 0) {
+            counts[0]++;
+            return estimate(board);
+        }
+        if (board.isTerminal()) {
+            counts[0]++;
+            if (root) best[0] = board;  // Existing board is the best board
+            return estimate(board);
+        }
+        List<WideBoard> moves = board.generateMoves(player);
+        if (moves.isEmpty()) {
+            counts[0]++;
+            return estimate(board);
+        }
+
+        boolean isMaximizing = player == Player.WHITE;
+        int bestEstimate = isMaximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        boolean first = true;
+        for (WideBoard move : moves) {
+            int estimate = alphaBeta(move, depth - 1, alpha, beta, player.opposite(), counts, best, false);
+            // Strictly better only, as in AlphaBetaAlgorithm: a tie with the best is only a bound
+            if (first || (isMaximizing ? estimate > bestEstimate : estimate < bestEstimate)) {
+                first = false;
+                bestEstimate = estimate;
+                if (root) best[0] = move;
+            }
+            if (isMaximizing) alpha = Math.max(alpha, bestEstimate);
+            else beta = Math.min(beta, bestEstimate);
+            if (beta <= alpha) break;
+        }
+        return bestEstimate;
+    }
+}
@@ -0,0 +1,52 @@
+package models;
+
+/**
+ * Outcome of a {@link WideAlphaBeta} search, the {@link Result} of boards of any geometry. Immutable.
+ */
+public final class WideResult {
+    private final int estimate;
+    private final WideBoard bestBoard;
+    private final long positionsEvaluated;
+    private final long nodes;
+
+    /**
+     * @param estimate           Estimate of the best move, from White's perspective
+     * @param bestBoard          Position after the best move
+     * @param positionsEvaluated Positions evaluated by static estimation
+     * @param nodes              Positions visited, including the root
+     */
+    public WideResult(int estimate, WideBoard bestBoard, long positionsEvaluated, long nodes) {
+        this.estimate = estimate;
+        this.bestBoard = bestBoard;
+        this.positionsEvaluated = positionsEvaluated;
+        this.nodes = nodes;
+    }
+
+    /**
+     * @return Estimate of the best move, from White's perspective
+     */
+    public int getEstimate() {
+        return estimate;
+    }
+
+    /**
+     * @return Position after the best move; null if the root had no move, the root itself if it was terminal
+     */
+    public WideBoard getBestBoard() {
+        return bestBoard;
+    }
+
+    /**
+     * @return Positions evaluated by static estimation
+     */
+    public long getPositionsEvaluated() {
+        return positionsEvaluated;
+    }
+
+    /**
+     * @return Positions visited, including the root
+     */
+    public long getNodes() {
+        return nodes;
+    }
+}